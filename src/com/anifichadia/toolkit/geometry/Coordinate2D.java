@@ -62,8 +62,7 @@ public class Coordinate2D implements Serializable
 	 */
 	public static double distanceBetween(Coordinate2D c1, Coordinate2D c2)
 	{
-		return MathUtils.euclideanDistance (new double[] {c1.getX (), c1.getY ()},
-				new double[] {c2.getX (), c2.getY ()});
+		return MathUtils.euclideanDistance (c1.getX (), c1.getY (), c2.getX (), c2.getY ());
 	}
 	
 	
@@ -80,6 +79,34 @@ public class Coordinate2D implements Serializable
 	}
 	
 	
+	/**
+	 * Calculates the squared Euclidean distance between two coordinates. Avoids the square root, so
+	 * is preferable when only comparing distances (eg. finding the nearest coordinate)
+	 * 
+	 * @param c1 First coordinate
+	 * @param c2 Second coordinate
+	 * 
+	 * @return Squared Euclidean distance between the coordinates
+	 */
+	public static double squaredDistanceBetween(Coordinate2D c1, Coordinate2D c2)
+	{
+		return MathUtils.squaredDistance (c1.getX (), c1.getY (), c2.getX (), c2.getY ());
+	}
+	
+	
+	/**
+	 * Calculates the squared Euclidean distance between this coordinate and another
+	 * 
+	 * @param other Other Coordinate to calculate the squared distance to
+	 * 
+	 * @return Squared distance between this coordinate and another
+	 */
+	public double squaredDistanceBetween(Coordinate2D other)
+	{
+		return squaredDistanceBetween (this, other);
+	}
+	
+	
 	/**
 	 * Calculates the angle (in degrees) between two coordinates
 	 * 
@@ -90,8 +117,7 @@ public class Coordinate2D implements Serializable
 	 */
 	public static double angleBetween(Coordinate2D c1, Coordinate2D c2)
 	{
-		return MathUtils.angle2DBetween (new double[] {c1.getX (), c1.getY ()},
-				new double[] {c2.getX (), c2.getY ()});
+		return MathUtils.angle2DBetween (c1.getX (), c1.getY (), c2.getX (), c2.getY ());
 	}
 	
 	
@@ -121,7 +147,7 @@ public class Coordinate2D implements Serializable
 	
 	/**
 	 * Rotates the {@link Coordinate2D} around a specific 2-dimensional coordinate by a specific
-	 * angle
+	 * angle. To rotate many coordinates by the same angle, use a {@link Rotation}
 	 * 
 	 * @param angle Angle to rotate {@link Coordinate2D}
 	 * @param rotatePointX Rotation point x-coordinate
@@ -129,7 +155,7 @@ public class Coordinate2D implements Serializable
 	 */
 	public void rotate(double angle, double rotatePointX, double rotatePointY)
 	{
-		if (this.equals (new Coordinate2D (rotatePointX, rotatePointY)))
+		if (getX () == rotatePointX && getY () == rotatePointY)
 			return;
 		
 		double theta = Math.toRadians (angle);
@@ -224,37 +250,31 @@ public class Coordinate2D implements Serializable
 	
 	
 	/**
-	 * Generates a string in format: x,y
+	 * Generates a string in format: x,y. Each value parses back to the same double. Refer to
+	 * {@link CoordinateFormat}
 	 */
 	@ Override
 	public String toString()
 	{
-		return String.format ("%f,%f", x, y);
+		return CoordinateFormat.append (new StringBuilder (48), x, y).toString ();
 	}
 	
 	
 	// ================================ String ===============================
 	/**
-	 * Creates a coordinate from a string. Note, must be in the same format as toString()
+	 * Creates a coordinate from a string. Note, must be in the same format as toString(). Refer to
+	 * {@link CoordinateFormat#parseCoordinate(CharSequence, int, int)}
 	 * 
 	 * @param fStr String to extract coordinate from.
 	 * 
-	 * @return Coordinate from string, or null on exception
+	 * @return Coordinate from string, or null if the string is not a valid coordinate
 	 */
 	public static Coordinate2D fromString(String fStr)
 	{
-		String[] fStrSplit = fStr.split (",");
-		double cX = 0;
-		double cY = 0;
-		
 		try {
-			cX = Double.parseDouble (fStrSplit[0].trim ());
-			cY = Double.parseDouble (fStrSplit[1].trim ());
-		} catch (Exception e) {
-			e.printStackTrace ();
+			return CoordinateFormat.parseCoordinate (fStr, 0, fStr.length ());
+		} catch (NumberFormatException e) {
 			return null;
 		}
-		
-		return new Coordinate2D (cX, cY);
 	}
 }
\ No newline at end of file
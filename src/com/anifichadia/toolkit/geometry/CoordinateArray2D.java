@@ -0,0 +1,695 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.geometry;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveTask;
+
+import com.anifichadia.toolkit.utilities.ParallelUtils;
+
+/**
+ * A growable collection of x, y coordinate pairs stored as a structure of arrays (one double[] of
+ * x-coordinates and one of y-coordinates). Compared to an array of {@link Coordinate2D}, there is
+ * no per-coordinate object, and bulk operations run in a single tight loop over contiguous memory
+ * that the JIT can vectorize. <br />
+ * <br />
+ * Bulk operations can optionally run in parallel using the shared fork-join pool (refer to
+ * {@link ParallelUtils}). Use {@link #view(int)} to interoperate with APIs that expect a
+ * {@link Coordinate2D}. <br />
+ * <br />
+ * Note: Not thread safe.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class CoordinateArray2D
+{
+	// ============================= Attributes ==============================
+	/** Minimum number of coordinates processed by a single parallel task */
+	public static final int	PARALLEL_THRESHOLD	= 1 << 15;
+	
+	/** x-coordinates */
+	protected double[]		xs;
+	/** y-coordinates */
+	protected double[]		ys;
+	/** Number of coordinates */
+	protected int			size;
+	
+	
+	// ============================ Constructors =============================
+	public CoordinateArray2D ()
+	{
+		this (16);
+	}
+	
+	
+	/**
+	 * @param initialCapacity Number of coordinates that can be stored before the arrays grow
+	 */
+	public CoordinateArray2D (int initialCapacity)
+	{
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException ("Initial capacity is negative. Capacity: "
+					+ initialCapacity);
+		
+		xs = new double[initialCapacity];
+		ys = new double[initialCapacity];
+	}
+	
+	
+	/**
+	 * Creates a collection containing a copy of the supplied coordinates
+	 * 
+	 * @param xs x-coordinates
+	 * @param ys y-coordinates
+	 */
+	public CoordinateArray2D (double[] xs, double[] ys)
+	{
+		if (xs.length != ys.length)
+			throw new IllegalArgumentException ("Number of x- and y- coordinates is not equal");
+		
+		this.xs = Arrays.copyOf (xs, xs.length);
+		this.ys = Arrays.copyOf (ys, ys.length);
+		size = xs.length;
+	}
+	
+	
+	/**
+	 * Creates a collection containing the values of the supplied coordinates
+	 * 
+	 * @param coordinates Coordinates to copy
+	 */
+	public CoordinateArray2D (Coordinate2D[] coordinates)
+	{
+		this (coordinates.length);
+		
+		for (Coordinate2D c : coordinates) {
+			add (c.getX (), c.getY ());
+		}
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Adds a coordinate
+	 * 
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 */
+	public void add(double x, double y)
+	{
+		if (size == xs.length) {
+			ensureCapacity (size + 1);
+		}
+		
+		xs[size] = x;
+		ys[size] = y;
+		size++;
+	}
+	
+	
+	/**
+	 * Adds the values of a coordinate
+	 * 
+	 * @param c Coordinate to add
+	 */
+	public void add(Coordinate2D c)
+	{
+		add (c.getX (), c.getY ());
+	}
+	
+	
+	/**
+	 * Ensures the arrays can hold a number of coordinates without growing
+	 * 
+	 * @param capacity Required capacity
+	 */
+	public void ensureCapacity(int capacity)
+	{
+		if (capacity > xs.length) {
+			int newCapacity = Math.max (capacity, xs.length + (xs.length >> 1) + 1);
+			xs = Arrays.copyOf (xs, newCapacity);
+			ys = Arrays.copyOf (ys, newCapacity);
+		}
+	}
+	
+	
+	/** Shrinks the arrays to the number of coordinates */
+	public void trimToSize()
+	{
+		if (size < xs.length) {
+			xs = Arrays.copyOf (xs, size);
+			ys = Arrays.copyOf (ys, size);
+		}
+	}
+	
+	
+	/** Removes all coordinates */
+	public void clear()
+	{
+		size = 0;
+	}
+	
+	
+	/**
+	 * Adds specified values to all coordinates. Refer to
+	 * {@link Coordinate2D#addToCoordinates(double, double)}
+	 * 
+	 * @param addX Value to add to the x-coordinates
+	 * @param addY Value to add to the y-coordinates
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 */
+	public void translate(double addX, double addY, boolean parallel)
+	{
+		if (parallel && size > PARALLEL_THRESHOLD) {
+			ParallelUtils.getPool ().invoke (
+					new BulkTask (this, Operation.TRANSLATE, 0, size, addX, addY, 0, 0, null));
+		} else {
+			translate (0, size, addX, addY);
+		}
+	}
+	
+	
+	/**
+	 * Refer to {@link #translate(double, double, boolean)}. Runs sequentially
+	 */
+	public void translate(double addX, double addY)
+	{
+		translate (addX, addY, false);
+	}
+	
+	
+	/**
+	 * Rotates all coordinates around a specific 2-dimensional coordinate by a specific angle. Refer
+	 * to {@link Coordinate2D#rotate(double, double, double)}
+	 * 
+	 * @param angle Angle to rotate, in degrees
+	 * @param rotatePointX Rotation point x-coordinate
+	 * @param rotatePointY Rotation point y-coordinate
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 */
+	public void rotate(double angle, double rotatePointX, double rotatePointY, boolean parallel)
+	{
+		rotate (new Rotation (angle, rotatePointX, rotatePointY), parallel);
+	}
+	
+	
+	/**
+	 * Rotates all coordinates using a precomputed {@link Rotation}
+	 * 
+	 * @param rotation Rotation to apply
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 */
+	public void rotate(Rotation rotation, boolean parallel)
+	{
+		double rotatePointX = rotation.getRotatePointX ();
+		double rotatePointY = rotation.getRotatePointY ();
+		double cos = rotation.getCos ();
+		double sin = rotation.getSin ();
+		
+		if (parallel && size > PARALLEL_THRESHOLD) {
+			ParallelUtils.getPool ().invoke (
+					new BulkTask (this, Operation.ROTATE, 0, size, rotatePointX, rotatePointY, cos,
+							sin, null));
+		} else {
+			rotate (0, size, rotatePointX, rotatePointY, cos, sin);
+		}
+	}
+	
+	
+	/**
+	 * Refer to {@link #rotate(double, double, double, boolean)}. Runs sequentially
+	 */
+	public void rotate(double angle, double rotatePointX, double rotatePointY)
+	{
+		rotate (angle, rotatePointX, rotatePointY, false);
+	}
+	
+	
+	/**
+	 * Calculates the Euclidean distance from every coordinate to a specific coordinate
+	 * 
+	 * @param x x-coordinate to calculate distances to
+	 * @param y y-coordinate to calculate distances to
+	 * @param distances Array to store the distances in. A new array is created if this is null or
+	 *            too small
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 * 
+	 * @return Array containing the distance for each coordinate
+	 */
+	public double[] distanceTo(double x, double y, double[] distances, boolean parallel)
+	{
+		if (distances == null || distances.length < size) {
+			distances = new double[size];
+		}
+		
+		if (parallel && size > PARALLEL_THRESHOLD) {
+			ParallelUtils.getPool ().invoke (
+					new BulkTask (this, Operation.DISTANCE, 0, size, x, y, 0, 0, distances));
+		} else {
+			distanceTo (0, size, x, y, distances);
+		}
+		
+		return distances;
+	}
+	
+	
+	/**
+	 * Refer to {@link #distanceTo(double, double, double[], boolean)}. Runs sequentially
+	 */
+	public double[] distanceTo(double x, double y)
+	{
+		return distanceTo (x, y, null, false);
+	}
+	
+	
+	/**
+	 * Calculates the bounding box of all coordinates
+	 * 
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 * 
+	 * @return Size 4 array in format [minX, minY, maxX, maxY], or null if there are no coordinates
+	 */
+	public double[] boundingBox(boolean parallel)
+	{
+		if (size == 0)
+			return null;
+		else if (parallel && size > PARALLEL_THRESHOLD)
+			return ParallelUtils.getPool ().invoke (
+					new BulkTask (this, Operation.BOUNDING_BOX, 0, size, 0, 0, 0, 0, null));
+		else
+			return boundingBox (0, size);
+	}
+	
+	
+	/**
+	 * Refer to {@link #boundingBox(boolean)}. Runs sequentially
+	 */
+	public double[] boundingBox()
+	{
+		return boundingBox (false);
+	}
+	
+	
+	/**
+	 * Creates a {@link Coordinate2D} that reads and writes a coordinate in this collection. Refer
+	 * to {@link CoordinateView}
+	 * 
+	 * @param index Index of the coordinate
+	 * 
+	 * @return View of the coordinate
+	 */
+	public CoordinateView view(int index)
+	{
+		checkIndex (index);
+		
+		return new CoordinateView (this, index);
+	}
+	
+	
+	/**
+	 * Copies all coordinates into new {@link Coordinate2D} objects
+	 * 
+	 * @return Array of coordinates
+	 */
+	public Coordinate2D[] toCoordinates()
+	{
+		Coordinate2D[] coordinates = new Coordinate2D[size];
+		
+		for (int i = 0; i < size; i++) {
+			coordinates[i] = new Coordinate2D (xs[i], ys[i]);
+		}
+		
+		return coordinates;
+	}
+	
+	
+	protected void translate(int from, int to, double addX, double addY)
+	{
+		final double[] xs = this.xs;
+		final double[] ys = this.ys;
+		
+		for (int i = from; i < to; i++) {
+			xs[i] += addX;
+			ys[i] += addY;
+		}
+	}
+	
+	
+	protected void rotate(int from, int to, double rotatePointX, double rotatePointY, double cos,
+			double sin)
+	{
+		final double[] xs = this.xs;
+		final double[] ys = this.ys;
+		
+		for (int i = from; i < to; i++) {
+			double dx = xs[i] - rotatePointX;
+			double dy = ys[i] - rotatePointY;
+			
+			xs[i] = rotatePointX + dx * cos - dy * sin;
+			ys[i] = rotatePointY + dx * sin + dy * cos;
+		}
+	}
+	
+	
+	protected void distanceTo(int from, int to, double x, double y, double[] distances)
+	{
+		final double[] xs = this.xs;
+		final double[] ys = this.ys;
+		
+		for (int i = from; i < to; i++) {
+			double dx = xs[i] - x;
+			double dy = ys[i] - y;
+			
+			distances[i] = Math.sqrt (dx * dx + dy * dy);
+		}
+	}
+	
+	
+	protected double[] boundingBox(int from, int to)
+	{
+		final double[] xs = this.xs;
+		final double[] ys = this.ys;
+		
+		double minX = xs[from];
+		double minY = ys[from];
+		double maxX = xs[from];
+		double maxY = ys[from];
+		
+		for (int i = from + 1; i < to; i++) {
+			minX = Math.min (minX, xs[i]);
+			minY = Math.min (minY, ys[i]);
+			maxX = Math.max (maxX, xs[i]);
+			maxY = Math.max (maxY, ys[i]);
+		}
+		
+		return new double[] {minX, minY, maxX, maxY};
+	}
+	
+	
+	private void checkIndex(int index)
+	{
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException ("Index: " + index + ", Size: " + size);
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	public int size()
+	{
+		return size;
+	}
+	
+	
+	public double getX(int index)
+	{
+		checkIndex (index);
+		
+		return xs[index];
+	}
+	
+	
+	public double getY(int index)
+	{
+		checkIndex (index);
+		
+		return ys[index];
+	}
+	
+	
+	/**
+	 * Set both x- and y- coordinates of a coordinate
+	 * 
+	 * @param index Index of the coordinate
+	 * @param x New x-coordinate
+	 * @param y New y-coordinate
+	 */
+	public void set(int index, double x, double y)
+	{
+		checkIndex (index);
+		
+		xs[index] = x;
+		ys[index] = y;
+	}
+	
+	
+	/**
+	 * Gets the backing array of x-coordinates. Only the first {@link #size()} values are valid.
+	 * Note: the array is replaced when the collection grows
+	 * 
+	 * @return x-coordinates
+	 */
+	public double[] getXs()
+	{
+		return xs;
+	}
+	
+	
+	/**
+	 * Gets the backing array of y-coordinates. Only the first {@link #size()} values are valid.
+	 * Note: the array is replaced when the collection grows
+	 * 
+	 * @return y-coordinates
+	 */
+	public double[] getYs()
+	{
+		return ys;
+	}
+	
+	
+	// ============================= Inner Types =============================
+	/**
+	 * A flyweight {@link Coordinate2D} that reads and writes a coordinate of a
+	 * {@link CoordinateArray2D}. The index can be changed using {@link #moveTo(int)}, so a single
+	 * view can be reused to iterate over the whole collection. Serializes as a plain
+	 * {@link Coordinate2D}.
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	public static class CoordinateView extends Coordinate2D
+	{
+		private static final long					serialVersionUID	= 1L;
+		
+		private final transient CoordinateArray2D	array;
+		private int									index;
+		
+		
+		protected CoordinateView (CoordinateArray2D array, int index)
+		{
+			this.array = array;
+			this.index = index;
+		}
+		
+		
+		/**
+		 * Moves this view to another coordinate
+		 * 
+		 * @param index Index of the coordinate
+		 * 
+		 * @return This view
+		 */
+		public CoordinateView moveTo(int index)
+		{
+			array.checkIndex (index);
+			this.index = index;
+			
+			return this;
+		}
+		
+		
+		public int getIndex()
+		{
+			return index;
+		}
+		
+		
+		@ Override
+		public double getX()
+		{
+			return array.xs[index];
+		}
+		
+		
+		@ Override
+		public void setX(double x)
+		{
+			array.xs[index] = x;
+		}
+		
+		
+		@ Override
+		public double getY()
+		{
+			return array.ys[index];
+		}
+		
+		
+		@ Override
+		public void setY(double y)
+		{
+			array.ys[index] = y;
+		}
+		
+		
+		@ Override
+		public void addToCoordinates(double addX, double addY)
+		{
+			array.xs[index] += addX;
+			array.ys[index] += addY;
+		}
+		
+		
+		@ Override
+		public boolean equals(Object obj)
+		{
+			if (obj instanceof Coordinate2D) {
+				Coordinate2D another = (Coordinate2D) obj;
+				
+				return (getX () == another.getX () && getY () == another.getY ());
+			} else
+				return false;
+		}
+		
+		
+		/**
+		 * Consistent with {@link #equals(Object)}, so 0.0 and -0.0 have the same hash code. Note:
+		 * the hash code changes when the view moves or its coordinate changes
+		 */
+		@ Override
+		public int hashCode()
+		{
+			// Adding 0.0 converts -0.0 to 0.0
+			long xBits = Double.doubleToLongBits (getX () + 0.0);
+			long yBits = Double.doubleToLongBits (getY () + 0.0);
+			
+			int hash = (int) (xBits ^ (xBits >>> 32));
+			return 31 * hash + (int) (yBits ^ (yBits >>> 32));
+		}
+		
+		
+		@ Override
+		public String toString()
+		{
+			return new Coordinate2D (getX (), getY ()).toString ();
+		}
+		
+		
+		/** Serializes as a plain {@link Coordinate2D} */
+		protected Object writeReplace()
+		{
+			return new Coordinate2D (getX (), getY ());
+		}
+	}
+	
+	
+	/**
+	 * Bulk operations that can run in parallel
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	protected enum Operation
+	{
+		TRANSLATE,
+		ROTATE,
+		DISTANCE,
+		BOUNDING_BOX;
+	}
+	
+	
+	/**
+	 * Runs a bulk operation over a range of coordinates, splitting the range in half until it is
+	 * below {@link CoordinateArray2D#PARALLEL_THRESHOLD}. Returns the bounding box for
+	 * {@link Operation#BOUNDING_BOX}, otherwise null.
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	protected static class BulkTask extends RecursiveTask<double[]>
+	{
+		private static final long			serialVersionUID	= 1L;
+		
+		private final CoordinateArray2D		array;
+		private final Operation				operation;
+		private final int					from;
+		private final int					to;
+		/** Operation parameters */
+		private final double				a;
+		private final double				b;
+		private final double				c;
+		private final double				d;
+		/** Output array, for distances */
+		private final double[]				out;
+		
+		
+		public BulkTask (CoordinateArray2D array, Operation operation, int from, int to, double a,
+				double b, double c, double d, double[] out)
+		{
+			this.array = array;
+			this.operation = operation;
+			this.from = from;
+			this.to = to;
+			this.a = a;
+			this.b = b;
+			this.c = c;
+			this.d = d;
+			this.out = out;
+		}
+		
+		
+		@ Override
+		protected double[] compute()
+		{
+			if (to - from > PARALLEL_THRESHOLD) {
+				int mid = (from + to) >>> 1;
+				BulkTask left = new BulkTask (array, operation, from, mid, a, b, c, d, out);
+				BulkTask right = new BulkTask (array, operation, mid, to, a, b, c, d, out);
+				left.fork ();
+				double[] r = right.compute ();
+				double[] l = left.join ();
+				
+				if (operation != Operation.BOUNDING_BOX)
+					return null;
+				
+				return new double[] {
+						Math.min (l[0], r[0]),
+						Math.min (l[1], r[1]),
+						Math.max (l[2], r[2]),
+						Math.max (l[3], r[3])};
+			}
+			
+			switch (operation) {
+				case TRANSLATE:
+					array.translate (from, to, a, b);
+					return null;
+				case ROTATE:
+					array.rotate (from, to, a, b, c, d);
+					return null;
+				case DISTANCE:
+					array.distanceTo (from, to, a, b, out);
+					return null;
+				default:
+					return array.boundingBox (from, to);
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,395 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.geometry;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fast parsing and formatting of coordinates in the format used by
+ * {@link Coordinate2D#toString()} (x,y). Parsing works directly on a range of a
+ * {@link CharSequence} without creating substrings, so a whole file buffer can be parsed in bulk
+ * using {@link #parseAll(CharSequence, CoordinateArray2D)}. <br />
+ * <br />
+ * Numbers with at most 15 significant digits and a decimal exponent in range [-22, 22] (which
+ * covers typical coordinates) are parsed using exact integer arithmetic and a single correctly
+ * rounded multiplication or division. Other numbers fall back to
+ * {@link Double#parseDouble(String)}, so results are always identical to it. <br />
+ * <br />
+ * Formatting uses {@link StringBuilder#append(double)} (the same digits as
+ * {@link Double#toString(double)}), which always parses back to the same double and avoids the
+ * overhead of {@link String#format(String, Object...)}.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class CoordinateFormat
+{
+	// ============================= Attributes ==============================
+	/** Separator between the x- and y- coordinates */
+	public static final char		SEPARATOR	= ',';
+	
+	/** Powers of 10 that are exactly representable as doubles */
+	private static final double[]	POWERS_OF_10;
+	
+	static {
+		POWERS_OF_10 = new double[23];
+		
+		double power = 1;
+		for (int i = 0; i < POWERS_OF_10.length; i++) {
+			POWERS_OF_10[i] = power;
+			power *= 10;
+		}
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Parses a double from a range of characters. Leading and trailing whitespace is ignored.
+	 * 
+	 * @param cs Characters to parse from
+	 * @param start Index of the first character, inclusive
+	 * @param end Index of the last character, exclusive
+	 * 
+	 * @return Parsed double
+	 * 
+	 * @throws NumberFormatException If the range does not contain a valid double
+	 */
+	public static double parseDouble(CharSequence cs, int start, int end)
+	{
+		while (start < end && isWhitespace (cs.charAt (start))) {
+			start++;
+		}
+		while (end > start && isWhitespace (cs.charAt (end - 1))) {
+			end--;
+		}
+		
+		if (start == end)
+			throw new NumberFormatException ("Empty number");
+		
+		int i = start;
+		
+		boolean negative = false;
+		char c = cs.charAt (i);
+		if (c == '-' || c == '+') {
+			negative = (c == '-');
+			i++;
+		}
+		
+		long mantissa = 0;
+		int numDigits = 0;
+		int exponent = 0;
+		boolean hasDigits = false;
+		boolean truncated = false;
+		
+		// Integer part
+		while (i < end && (c = cs.charAt (i)) >= '0' && c <= '9') {
+			hasDigits = true;
+			
+			if (numDigits < 18) {
+				mantissa = mantissa * 10 + (c - '0');
+				
+				// Leading zeros aren't significant
+				if (mantissa != 0) {
+					numDigits++;
+				}
+			} else {
+				exponent++;
+				truncated = true;
+			}
+			
+			i++;
+		}
+		
+		// Fractional part
+		if (i < end && cs.charAt (i) == '.') {
+			i++;
+			
+			while (i < end && (c = cs.charAt (i)) >= '0' && c <= '9') {
+				hasDigits = true;
+				
+				if (numDigits < 18) {
+					mantissa = mantissa * 10 + (c - '0');
+					exponent--;
+					
+					if (mantissa != 0) {
+						numDigits++;
+					}
+				} else {
+					truncated = true;
+				}
+				
+				i++;
+			}
+		}
+		
+		// Exponent
+		if (hasDigits && i < end && ((c = cs.charAt (i)) == 'e' || c == 'E')) {
+			i++;
+			
+			boolean negativeExponent = false;
+			if (i < end && ((c = cs.charAt (i)) == '-' || c == '+')) {
+				negativeExponent = (c == '-');
+				i++;
+			}
+			
+			int exponentStart = i;
+			int explicitExponent = 0;
+			while (i < end && (c = cs.charAt (i)) >= '0' && c <= '9') {
+				if (explicitExponent < 100000) {
+					explicitExponent = explicitExponent * 10 + (c - '0');
+				}
+				
+				i++;
+			}
+			
+			if (i == exponentStart)
+				throw new NumberFormatException ("Invalid number: "
+						+ cs.subSequence (start, end));
+			
+			exponent += negativeExponent ? -explicitExponent : explicitExponent;
+		}
+		
+		// Unusual formats (eg. NaN, Infinity, hexadecimal or type suffixes) and numbers that can't
+		// be parsed exactly using the fast path
+		if ( !hasDigits || i != end || truncated || numDigits > 15 || exponent < -22
+				|| exponent > 22)
+			return Double.parseDouble (cs.subSequence (start, end).toString ());
+		
+		double value = mantissa;
+		if (exponent < 0) {
+			value /= POWERS_OF_10[ -exponent];
+		} else {
+			value *= POWERS_OF_10[exponent];
+		}
+		
+		return negative ? -value : value;
+	}
+	
+	
+	/**
+	 * Parses a coordinate from a range of characters in format x,y
+	 * 
+	 * @param cs Characters to parse from
+	 * @param start Index of the first character, inclusive
+	 * @param end Index of the last character, exclusive
+	 * 
+	 * @return Parsed coordinate
+	 * 
+	 * @throws NumberFormatException If the range does not contain a valid coordinate
+	 */
+	public static Coordinate2D parseCoordinate(CharSequence cs, int start, int end)
+	{
+		int separator = indexOfSeparator (cs, start, end);
+		
+		return new Coordinate2D (parseDouble (cs, start, separator),
+				parseDouble (cs, separator + 1, end));
+	}
+	
+	
+	/**
+	 * Parses all coordinates from a buffer, with one coordinate per line in format x,y. Lines may
+	 * end with \n or \r\n, and blank lines are skipped. No objects are created per coordinate.
+	 * 
+	 * @param cs Characters to parse. Use {@link #asciiSequence(ByteBuffer)} to parse a (memory
+	 *            mapped) file without decoding it
+	 * @param out Collection to add parsed coordinates to
+	 * 
+	 * @return Number of coordinates parsed
+	 * 
+	 * @throws NumberFormatException If a line does not contain a valid coordinate. The message
+	 *             contains the (1-based) line number
+	 */
+	public static int parseAll(CharSequence cs, CoordinateArray2D out)
+	{
+		int len = cs.length ();
+		int count = 0;
+		int lineNumber = 0;
+		
+		int lineStart = 0;
+		while (lineStart < len) {
+			lineNumber++;
+			
+			int lineEnd = lineStart;
+			while (lineEnd < len && cs.charAt (lineEnd) != '\n') {
+				lineEnd++;
+			}
+			int next = lineEnd + 1;
+			
+			if (lineEnd > lineStart && cs.charAt (lineEnd - 1) == '\r') {
+				lineEnd--;
+			}
+			
+			if ( !isBlank (cs, lineStart, lineEnd)) {
+				try {
+					int separator = indexOfSeparator (cs, lineStart, lineEnd);
+					
+					out.add (parseDouble (cs, lineStart, separator),
+							parseDouble (cs, separator + 1, lineEnd));
+					count++;
+				} catch (NumberFormatException e) {
+					throw new NumberFormatException ("Invalid coordinate on line " + lineNumber
+							+ ": " + e.getMessage ());
+				}
+			}
+			
+			lineStart = next;
+		}
+		
+		return count;
+	}
+	
+	
+	/**
+	 * Appends a coordinate in format x,y
+	 * 
+	 * @param sb StringBuilder to append to
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 * 
+	 * @return sb
+	 */
+	public static StringBuilder append(StringBuilder sb, double x, double y)
+	{
+		return sb.append (x).append (SEPARATOR).append (y);
+	}
+	
+	
+	/**
+	 * Appends all coordinates, with one coordinate per line in format x,y. The output can be read
+	 * using {@link #parseAll(CharSequence, CoordinateArray2D)}
+	 * 
+	 * @param coordinates Coordinates to format
+	 * @param sb StringBuilder to append to
+	 * 
+	 * @return sb
+	 */
+	public static StringBuilder formatAll(CoordinateArray2D coordinates, StringBuilder sb)
+	{
+		double[] xs = coordinates.getXs ();
+		double[] ys = coordinates.getYs ();
+		int size = coordinates.size ();
+		
+		for (int i = 0; i < size; i++) {
+			append (sb, xs[i], ys[i]).append ('\n');
+		}
+		
+		return sb;
+	}
+	
+	
+	/**
+	 * Creates a {@link CharSequence} that reads the remaining bytes of a buffer as ASCII
+	 * characters, without copying or decoding them. The buffer's position is not changed
+	 * 
+	 * @param buffer Buffer to read, eg. a memory mapped file
+	 * 
+	 * @return Character sequence backed by the buffer
+	 */
+	public static CharSequence asciiSequence(ByteBuffer buffer)
+	{
+		return new AsciiSequence (buffer, buffer.position (), buffer.limit ());
+	}
+	
+	
+	private static int indexOfSeparator(CharSequence cs, int start, int end)
+	{
+		for (int i = start; i < end; i++) {
+			if (cs.charAt (i) == SEPARATOR)
+				return i;
+		}
+		
+		throw new NumberFormatException ("Missing separator: " + cs.subSequence (start, end));
+	}
+	
+	
+	private static boolean isBlank(CharSequence cs, int start, int end)
+	{
+		for (int i = start; i < end; i++) {
+			if ( !isWhitespace (cs.charAt (i)))
+				return false;
+		}
+		
+		return true;
+	}
+	
+	
+	private static boolean isWhitespace(char c)
+	{
+		return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+	}
+	
+	
+	// ============================= Inner Types =============================
+	/**
+	 * Read only {@link CharSequence} view of a range of a {@link ByteBuffer}, where each byte is
+	 * an ASCII character
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	private static class AsciiSequence implements CharSequence
+	{
+		private final ByteBuffer	buffer;
+		private final int			start;
+		private final int			end;
+		
+		
+		public AsciiSequence (ByteBuffer buffer, int start, int end)
+		{
+			this.buffer = buffer;
+			this.start = start;
+			this.end = end;
+		}
+		
+		
+		@ Override
+		public int length()
+		{
+			return end - start;
+		}
+		
+		
+		@ Override
+		public char charAt(int index)
+		{
+			return (char) (buffer.get (start + index) & 0xFF);
+		}
+		
+		
+		@ Override
+		public CharSequence subSequence(int from, int to)
+		{
+			return new AsciiSequence (buffer, start + from, start + to);
+		}
+		
+		
+		@ Override
+		public String toString()
+		{
+			char[] chars = new char[length ()];
+			for (int i = 0; i < chars.length; i++) {
+				chars[i] = charAt (i);
+			}
+			
+			return new String (chars);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,476 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.geometry;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import com.anifichadia.toolkit.utilities.MathUtils;
+
+/**
+ * A fixed size store of x, y coordinate pairs held outside of the Java heap, either in direct
+ * memory ({@link ByteBuffer#allocateDirect(int)}) or in a memory-mapped file. Supports the same
+ * operations as {@link Coordinate2D} through index-based accessors, so very large coordinate sets
+ * can be processed without adding to garbage collection work. A mapped store can be reopened
+ * quickly after a restart by mapping the same file again. <br />
+ * <br />
+ * Coordinates are stored as interleaved x, y doubles (16 bytes per coordinate) in little-endian
+ * byte order, so mapped files can be read on any platform. As a single buffer is limited to 2GB,
+ * the store is split into segments of 2^{@link #SEGMENT_BITS} coordinates. <br />
+ * <br />
+ * Note: Reads and writes of different coordinates are thread safe. Changes to a mapped store are
+ * written to the file by the operating system, use {@link #force()} to write them immediately.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class DirectCoordinateStore
+{
+	// ============================= Attributes ==============================
+	/** Number of bytes per coordinate */
+	public static final int					BYTES_PER_COORDINATE	= 16;
+	/** Log 2 of the number of coordinates per segment */
+	public static final int					SEGMENT_BITS			= 26;
+	
+	private static final long				SEGMENT_MASK			= (1L << SEGMENT_BITS) - 1;
+	
+	/** Number of coordinates */
+	protected final long					size;
+	/** Interleaved x, y values for each segment */
+	protected final DoubleBuffer[]			segments;
+	/** Mapped buffer for each segment, or null if the store isn't mapped */
+	protected final MappedByteBuffer[]		mappedSegments;
+	
+	
+	// ============================ Constructors =============================
+	protected DirectCoordinateStore (long size, ByteBuffer[] buffers)
+	{
+		this.size = size;
+		
+		segments = new DoubleBuffer[buffers.length];
+		for (int i = 0; i < buffers.length; i++) {
+			segments[i] = buffers[i].order (ByteOrder.LITTLE_ENDIAN).asDoubleBuffer ();
+		}
+		
+		if (buffers instanceof MappedByteBuffer[]) {
+			mappedSegments = (MappedByteBuffer[]) buffers;
+		} else {
+			mappedSegments = null;
+		}
+	}
+	
+	
+	/**
+	 * Creates a store in direct memory. All coordinates are initially (0, 0)
+	 * 
+	 * @param size Number of coordinates
+	 * 
+	 * @return New store
+	 */
+	public static DirectCoordinateStore allocateDirect(long size)
+	{
+		if (size < 0)
+			throw new IllegalArgumentException ("Size is negative. Size: " + size);
+		
+		ByteBuffer[] buffers = new ByteBuffer[numSegments (size)];
+		for (int i = 0; i < buffers.length; i++) {
+			buffers[i] = ByteBuffer.allocateDirect (segmentLength (size, i) * BYTES_PER_COORDINATE);
+		}
+		
+		return new DirectCoordinateStore (size, buffers);
+	}
+	
+	
+	/**
+	 * Creates a store backed by a memory-mapped file. The file is created or resized if
+	 * necessary. Existing coordinates in the file are kept.
+	 * 
+	 * @param file File to map
+	 * @param size Number of coordinates
+	 * 
+	 * @return New store
+	 * 
+	 * @throws IOException If the file cannot be opened, resized or mapped
+	 */
+	public static DirectCoordinateStore map(File file, long size) throws IOException
+	{
+		if (size < 0)
+			throw new IllegalArgumentException ("Size is negative. Size: " + size);
+		
+		return map (file, size, true);
+	}
+	
+	
+	/**
+	 * Maps an existing file created by {@link #map(File, long)}. The number of coordinates is
+	 * calculated from the length of the file, and the file is not resized.
+	 * 
+	 * @param file File to map
+	 * 
+	 * @return New store
+	 * 
+	 * @throws IOException If the file cannot be opened or mapped, or its length is not a multiple
+	 *             of {@link #BYTES_PER_COORDINATE}
+	 */
+	public static DirectCoordinateStore map(File file) throws IOException
+	{
+		if ( !file.isFile ())
+			throw new IOException ("File does not exist: " + file);
+		
+		long length = file.length ();
+		if (length % BYTES_PER_COORDINATE != 0)
+			throw new IOException ("File length is not a multiple of " + BYTES_PER_COORDINATE
+					+ " bytes. Length: " + length);
+		
+		return map (file, length / BYTES_PER_COORDINATE, false);
+	}
+	
+	
+	/**
+	 * Maps a file
+	 * 
+	 * @param file File to map
+	 * @param size Number of coordinates
+	 * @param resize Boolean representing if the file should be resized to hold size coordinates
+	 * 
+	 * @return New store
+	 * 
+	 * @throws IOException If the file cannot be opened, resized or mapped
+	 */
+	private static DirectCoordinateStore map(File file, long size, boolean resize)
+			throws IOException
+	{
+		RandomAccessFile raf = null;
+		
+		try {
+			raf = new RandomAccessFile (file, "rw");
+			if (resize) {
+				raf.setLength (size * BYTES_PER_COORDINATE);
+			}
+			
+			FileChannel channel = raf.getChannel ();
+			
+			// Mappings stay valid after the channel is closed
+			MappedByteBuffer[] buffers = new MappedByteBuffer[numSegments (size)];
+			for (int i = 0; i < buffers.length; i++) {
+				long position = ((long) i << SEGMENT_BITS) * BYTES_PER_COORDINATE;
+				long length = (long) segmentLength (size, i) * BYTES_PER_COORDINATE;
+				
+				buffers[i] = channel.map (FileChannel.MapMode.READ_WRITE, position, length);
+			}
+			
+			return new DirectCoordinateStore (size, buffers);
+		} finally {
+			if (raf != null) {
+				try {
+					raf.close ();
+				} catch (IOException e) {}
+			}
+		}
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Calculates the Euclidean distance between two coordinates in the store
+	 * 
+	 * @param i Index of the first coordinate
+	 * @param j Index of the second coordinate
+	 * 
+	 * @return Euclidean distance between the coordinates
+	 */
+	public double distanceBetween(long i, long j)
+	{
+		return MathUtils.euclideanDistance (getX (i), getY (i), getX (j), getY (j));
+	}
+	
+	
+	/**
+	 * Calculates the Euclidean distance between a coordinate in the store and another coordinate
+	 * 
+	 * @param i Index of the coordinate
+	 * @param x Other x-coordinate
+	 * @param y Other y-coordinate
+	 * 
+	 * @return Euclidean distance between the coordinates
+	 */
+	public double distanceTo(long i, double x, double y)
+	{
+		return MathUtils.euclideanDistance (getX (i), getY (i), x, y);
+	}
+	
+	
+	/**
+	 * Calculates the angle (in degrees) between two coordinates in the store. Refer to
+	 * {@link Coordinate2D#angleBetween(Coordinate2D, Coordinate2D)}
+	 * 
+	 * @param i Index of the first coordinate
+	 * @param j Index of the second coordinate
+	 * 
+	 * @return Angle between both coordinates in degrees
+	 */
+	public double angleBetween(long i, long j)
+	{
+		return MathUtils.angle2DBetween (getX (i), getY (i), getX (j), getY (j));
+	}
+	
+	
+	/**
+	 * Rotates a coordinate around a specific 2-dimensional coordinate by a specific angle. Refer
+	 * to {@link Coordinate2D#rotate(double, double, double)}
+	 * 
+	 * @param i Index of the coordinate
+	 * @param angle Angle to rotate, in degrees
+	 * @param rotatePointX Rotation point x-coordinate
+	 * @param rotatePointY Rotation point y-coordinate
+	 */
+	public void rotate(long i, double angle, double rotatePointX, double rotatePointY)
+	{
+		double theta = Math.toRadians (angle);
+		
+		rotate (i, i + 1, rotatePointX, rotatePointY, Math.cos (theta), Math.sin (theta));
+	}
+	
+	
+	/**
+	 * Rotates all coordinates around a specific 2-dimensional coordinate by a specific angle
+	 * 
+	 * @param angle Angle to rotate, in degrees
+	 * @param rotatePointX Rotation point x-coordinate
+	 * @param rotatePointY Rotation point y-coordinate
+	 */
+	public void rotateAll(double angle, double rotatePointX, double rotatePointY)
+	{
+		double theta = Math.toRadians (angle);
+		
+		rotate (0, size, rotatePointX, rotatePointY, Math.cos (theta), Math.sin (theta));
+	}
+	
+	
+	/**
+	 * Rotates a range of coordinates using a precomputed cosine and sine
+	 * 
+	 * @param from Index of the first coordinate, inclusive
+	 * @param to Index of the last coordinate, exclusive
+	 * @param rotatePointX Rotation point x-coordinate
+	 * @param rotatePointY Rotation point y-coordinate
+	 * @param cos Cosine of the angle
+	 * @param sin Sine of the angle
+	 */
+	public void rotate(long from, long to, double rotatePointX, double rotatePointY, double cos,
+			double sin)
+	{
+		checkRange (from, to);
+		
+		for (long i = from; i < to;) {
+			DoubleBuffer segment = segments[(int) (i >>> SEGMENT_BITS)];
+			int offset = (int) (i & SEGMENT_MASK);
+			int end = (int) Math.min (segment.capacity () / 2, offset + (to - i));
+			
+			for (int p = offset; p < end; p++) {
+				double dx = segment.get (2 * p) - rotatePointX;
+				double dy = segment.get (2 * p + 1) - rotatePointY;
+				
+				segment.put (2 * p, rotatePointX + dx * cos - dy * sin);
+				segment.put (2 * p + 1, rotatePointY + dx * sin + dy * cos);
+			}
+			
+			i += end - offset;
+		}
+	}
+	
+	
+	/**
+	 * Adds specified values to all coordinates
+	 * 
+	 * @param addX Value to add to the x-coordinates
+	 * @param addY Value to add to the y-coordinates
+	 */
+	public void translateAll(double addX, double addY)
+	{
+		for (DoubleBuffer segment : segments) {
+			int len = segment.capacity ();
+			
+			for (int p = 0; p < len; p += 2) {
+				segment.put (p, segment.get (p) + addX);
+				segment.put (p + 1, segment.get (p + 1) + addY);
+			}
+		}
+	}
+	
+	
+	/**
+	 * Calculates the bounding box of all coordinates
+	 * 
+	 * @return Size 4 array in format [minX, minY, maxX, maxY], or null if the store is empty
+	 */
+	public double[] boundingBox()
+	{
+		if (size == 0)
+			return null;
+		
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		
+		for (DoubleBuffer segment : segments) {
+			int len = segment.capacity ();
+			
+			for (int p = 0; p < len; p += 2) {
+				double x = segment.get (p);
+				double y = segment.get (p + 1);
+				
+				minX = Math.min (minX, x);
+				minY = Math.min (minY, y);
+				maxX = Math.max (maxX, x);
+				maxY = Math.max (maxY, y);
+			}
+		}
+		
+		return new double[] {minX, minY, maxX, maxY};
+	}
+	
+	
+	/**
+	 * Writes all changes to a mapped store to its file. Does nothing for a direct memory store
+	 */
+	public void force()
+	{
+		if (mappedSegments != null) {
+			for (MappedByteBuffer buffer : mappedSegments) {
+				buffer.force ();
+			}
+		}
+	}
+	
+	
+	private static int numSegments(long size)
+	{
+		long numSegments = (size + SEGMENT_MASK) >>> SEGMENT_BITS;
+		
+		if (numSegments > Integer.MAX_VALUE)
+			throw new IllegalArgumentException ("Size is too large. Size: " + size);
+		
+		return (int) numSegments;
+	}
+	
+	
+	private static int segmentLength(long size, int segment)
+	{
+		return (int) Math.min (1L << SEGMENT_BITS, size - ((long) segment << SEGMENT_BITS));
+	}
+	
+	
+	private void checkIndex(long index)
+	{
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException ("Index: " + index + ", Size: " + size);
+	}
+	
+	
+	private void checkRange(long from, long to)
+	{
+		if (from < 0 || to > size || from > to)
+			throw new IndexOutOfBoundsException ("From: " + from + ", To: " + to + ", Size: "
+					+ size);
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	public long size()
+	{
+		return size;
+	}
+	
+	
+	public boolean isMapped()
+	{
+		return mappedSegments != null;
+	}
+	
+	
+	public double getX(long index)
+	{
+		checkIndex (index);
+		
+		return segments[(int) (index >>> SEGMENT_BITS)].get ((int) (index & SEGMENT_MASK) << 1);
+	}
+	
+	
+	public double getY(long index)
+	{
+		checkIndex (index);
+		
+		return segments[(int) (index >>> SEGMENT_BITS)]
+				.get (((int) (index & SEGMENT_MASK) << 1) + 1);
+	}
+	
+	
+	/**
+	 * Set both x- and y- coordinates of a coordinate
+	 * 
+	 * @param index Index of the coordinate
+	 * @param x New x-coordinate
+	 * @param y New y-coordinate
+	 */
+	public void set(long index, double x, double y)
+	{
+		checkIndex (index);
+		
+		DoubleBuffer segment = segments[(int) (index >>> SEGMENT_BITS)];
+		int offset = (int) (index & SEGMENT_MASK) << 1;
+		
+		segment.put (offset, x);
+		segment.put (offset + 1, y);
+	}
+	
+	
+	/**
+	 * Copies a coordinate into a new {@link Coordinate2D}
+	 * 
+	 * @param index Index of the coordinate
+	 * 
+	 * @return Copy of the coordinate
+	 */
+	public Coordinate2D get(long index)
+	{
+		return new Coordinate2D (getX (index), getY (index));
+	}
+	
+	
+	/**
+	 * Sets a coordinate to the values of a {@link Coordinate2D}
+	 * 
+	 * @param index Index of the coordinate
+	 * @param c Coordinate to copy
+	 */
+	public void set(long index, Coordinate2D c)
+	{
+		set (index, c.getX (), c.getY ());
+	}
+}
\ No newline at end of file
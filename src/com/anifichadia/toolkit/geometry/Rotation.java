@@ -0,0 +1,247 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.geometry;
+
+/**
+ * A rotation by a specific angle around a specific 2-dimensional coordinate. The sine and cosine
+ * of the angle are calculated once, so a rotation can be applied to any number of coordinates
+ * without recalculating them. Applying a rotation does not allocate. <br />
+ * <br />
+ * Rotations are immutable and thread safe.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class Rotation
+{
+	// ============================= Attributes ==============================
+	/** Angle, in degrees */
+	protected final double	angle;
+	/** Rotation point x-coordinate */
+	protected final double	rotatePointX;
+	/** Rotation point y-coordinate */
+	protected final double	rotatePointY;
+	
+	/** Cosine of the angle */
+	protected final double	cos;
+	/** Sine of the angle */
+	protected final double	sin;
+	
+	
+	// ============================ Constructors =============================
+	/**
+	 * @param angle Angle to rotate, in degrees
+	 * @param rotatePointX Rotation point x-coordinate
+	 * @param rotatePointY Rotation point y-coordinate
+	 */
+	public Rotation (double angle, double rotatePointX, double rotatePointY)
+	{
+		this.angle = angle;
+		this.rotatePointX = rotatePointX;
+		this.rotatePointY = rotatePointY;
+		
+		double theta = Math.toRadians (angle);
+		cos = Math.cos (theta);
+		sin = Math.sin (theta);
+	}
+	
+	
+	/**
+	 * Rotation around a coordinate. Refer to {@link #Rotation(double, double, double)}
+	 */
+	public Rotation (double angle, Coordinate2D rotateCoord)
+	{
+		this (angle, rotateCoord.getX (), rotateCoord.getY ());
+	}
+	
+	
+	/**
+	 * Rotation around the origin (coordinate (0, 0)). Refer to
+	 * {@link #Rotation(double, double, double)}
+	 */
+	public Rotation (double angle)
+	{
+		this (angle, 0d, 0d);
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Rotates a coordinate
+	 * 
+	 * @param c Coordinate to rotate
+	 */
+	public void apply(Coordinate2D c)
+	{
+		double dx = c.getX () - rotatePointX;
+		double dy = c.getY () - rotatePointY;
+		
+		c.setCoordinates (rotatePointX + dx * cos - dy * sin, rotatePointY + dx * sin + dy * cos);
+	}
+	
+	
+	/**
+	 * Rotates an array of coordinates
+	 * 
+	 * @param coordinates Coordinates to rotate
+	 */
+	public void apply(Coordinate2D[] coordinates)
+	{
+		for (Coordinate2D c : coordinates) {
+			apply (c);
+		}
+	}
+	
+	
+	/**
+	 * Rotates a collection of coordinates
+	 * 
+	 * @param coordinates Coordinates to rotate
+	 */
+	public void apply(Iterable<? extends Coordinate2D> coordinates)
+	{
+		for (Coordinate2D c : coordinates) {
+			apply (c);
+		}
+	}
+	
+	
+	/**
+	 * Rotates a range of coordinates stored as separate x- and y- arrays
+	 * 
+	 * @param xs x-coordinates
+	 * @param ys y-coordinates
+	 * @param from Index of the first coordinate, inclusive
+	 * @param to Index of the last coordinate, exclusive
+	 */
+	public void apply(double[] xs, double[] ys, int from, int to)
+	{
+		if (to > xs.length || to > ys.length)
+			throw new IndexOutOfBoundsException ("To: " + to + ", x length: " + xs.length
+					+ ", y length: " + ys.length);
+		
+		final double cos = this.cos;
+		final double sin = this.sin;
+		
+		for (int i = from; i < to; i++) {
+			double dx = xs[i] - rotatePointX;
+			double dy = ys[i] - rotatePointY;
+			
+			xs[i] = rotatePointX + dx * cos - dy * sin;
+			ys[i] = rotatePointY + dx * sin + dy * cos;
+		}
+	}
+	
+	
+	/**
+	 * Rotates all coordinates stored as separate x- and y- arrays. Refer to
+	 * {@link #apply(double[], double[], int, int)}
+	 */
+	public void apply(double[] xs, double[] ys)
+	{
+		if (xs.length != ys.length)
+			throw new IllegalArgumentException ("Number of x- and y- coordinates is not equal");
+		
+		apply (xs, ys, 0, xs.length);
+	}
+	
+	
+	/**
+	 * Rotates all coordinates in a {@link CoordinateArray2D}
+	 * 
+	 * @param coordinates Coordinates to rotate
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 */
+	public void apply(CoordinateArray2D coordinates, boolean parallel)
+	{
+		coordinates.rotate (this, parallel);
+	}
+	
+	
+	/**
+	 * Rotates all coordinates in a {@link DirectCoordinateStore}
+	 * 
+	 * @param coordinates Coordinates to rotate
+	 */
+	public void apply(DirectCoordinateStore coordinates)
+	{
+		coordinates.rotate (0, coordinates.size (), rotatePointX, rotatePointY, cos, sin);
+	}
+	
+	
+	/**
+	 * Calculates the rotated x-coordinate of a coordinate, without modifying it
+	 * 
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 * 
+	 * @return Rotated x-coordinate
+	 */
+	public double rotateX(double x, double y)
+	{
+		return rotatePointX + (x - rotatePointX) * cos - (y - rotatePointY) * sin;
+	}
+	
+	
+	/**
+	 * Calculates the rotated y-coordinate of a coordinate, without modifying it
+	 * 
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 * 
+	 * @return Rotated y-coordinate
+	 */
+	public double rotateY(double x, double y)
+	{
+		return rotatePointY + (x - rotatePointX) * sin + (y - rotatePointY) * cos;
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	public double getAngle()
+	{
+		return angle;
+	}
+	
+	
+	public double getRotatePointX()
+	{
+		return rotatePointX;
+	}
+	
+	
+	public double getRotatePointY()
+	{
+		return rotatePointY;
+	}
+	
+	
+	public double getCos()
+	{
+		return cos;
+	}
+	
+	
+	public double getSin()
+	{
+		return sin;
+	}
+}
\ No newline at end of file
@@ -21,10 +21,12 @@
 package com.anifichadia.toolkit.geopartition;
 
 import com.anifichadia.toolkit.geometry.Coordinate2D;
+import com.anifichadia.toolkit.geometry.CoordinateArray2D;
 import com.anifichadia.toolkit.utilities.MathUtils;
 
 /**
- * Calculates equal sized partitions for a bounding box.
+ * Calculates equal sized partitions for a bounding box, or partitions balanced by the number of
+ * points they contain.
  * 
  * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
  *         (http://github.com/AniFichadia)
@@ -33,9 +35,10 @@ public class GeoPartitioner
 {
 	// =============================== Methods ===============================
 	/**
-	 * Create equal sized partitions based on coordinates. Currently supports 1, 2, numbers in the
-	 * square number sequence (eg. 1, 4, 16, 25, 36 ...) and powers of 2, as the number of
-	 * partitions.
+	 * Create equal sized partitions based on coordinates. Supports any number of partitions. The
+	 * bounding box is split into a grid of columns and rows, where columns * rows =
+	 * numPartitions, refer to {@link #calculateGrid(double, double, int)}. Partitions are indexed
+	 * in row-major order (eg. for 3 columns, partition index 4 is column 1 of row 1).
 	 * 
 	 * Coordinates provided must be for the opposing corners of the bounding box. This can be the
 	 * South West and North East corners, or North West and South East corners of the bounding box
@@ -67,120 +70,249 @@ public class GeoPartitioner
 		double x2 = c2.getX ();
 		double y2 = c2.getY ();
 		
+		int[] grid = calculateGrid (x2 - x1, y2 - y1, numPartitions);
+		int columns = grid[0];
+		int rows = grid[1];
+		
 		// Individual partition x- and y- sizes
-		double partitionSizeX = 0;
-		double partitionSizeY = 0;
-		
-		// Partition offset based on partitionIndex
-		int positionX = 0;
-		int positionY = 0;
-		
-		if (numPartitions == 1) {// Just use original bounding box
-			partitionSizeX = x2 - x1;
-			partitionSizeY = y2 - y1;
-		} else if (numPartitions == 2) {
-			// Split bounding box into two partitions. Splits so the length of the overlapping edge
-			// is minimal (eg. if bounding box is rectangular)
-			
-			if (x2 - x1 >= y2 - y1) {
-				partitionSizeX = (x2 - x1) / 2;
-				partitionSizeY = (y2 - y1);
-				
-				positionX = partitionIndex;
-			} else {
-				partitionSizeX = (x2 - x1);
-				partitionSizeY = (y2 - y1) / 2;
-				
-				positionY = partitionIndex;
+		double partitionSizeX = (x2 - x1) / columns;
+		double partitionSizeY = (y2 - y1) / rows;
+		
+		// Partition offset based on partitionIndex. Simple modulo and division maps index into a
+		// grid
+		int positionX = partitionIndex % columns;
+		int positionY = partitionIndex / columns;
+		
+		// Calculate new bounding box coordinates for partition. The last column and row use the
+		// original edges, so rounding errors don't shrink the bounding box
+		double partitionX1 = x1 + (positionX * partitionSizeX);
+		double partitionY1 = y1 + (positionY * partitionSizeY);
+		double partitionX2 = (positionX == columns - 1) ? x2 : x1
+				+ ((positionX + 1) * partitionSizeX);
+		double partitionY2 = (positionY == rows - 1) ? y2 : y1 + ((positionY + 1) * partitionSizeY);
+		
+		return new Coordinate2D[] {
+				new Coordinate2D (partitionX1, partitionY1),
+				new Coordinate2D (partitionX2, partitionY2)};
+	}
+	
+	
+	/**
+	 * Calculates all partitions of a bounding box at once. The grid is calculated once and the
+	 * bounding boxes are stored in a single primitive array, so this is much cheaper than calling
+	 * {@link #partition(Coordinate2D, Coordinate2D, int, int)} for each partition index.
+	 * 
+	 * @param x1 First corner x-coordinate of the original bounding box
+	 * @param y1 First corner y-coordinate of the original bounding box
+	 * @param x2 Second (opposite) corner x-coordinate of the original bounding box
+	 * @param y2 Second (opposite) corner y-coordinate of the original bounding box
+	 * @param numPartitions Total number of partitions
+	 * 
+	 * @return All partitions
+	 */
+	public static PartitionGrid partitionAll(double x1, double y1, double x2, double y2,
+			int numPartitions)
+	{
+		int[] grid = calculateGrid (x2 - x1, y2 - y1, numPartitions);
+		
+		return new PartitionGrid (x1, y1, x2, y2, grid[0], grid[1]);
+	}
+	
+	
+	/**
+	 * Refer to {@link #partitionAll(double, double, double, double, int)}
+	 * 
+	 * @param c1 First Coordinate of the original bounding box
+	 * @param c2 Second Coordinate of the original bounding box
+	 * @param numPartitions Total number of partitions
+	 * 
+	 * @return All partitions
+	 */
+	public static PartitionGrid partitionAll(Coordinate2D c1, Coordinate2D c2, int numPartitions)
+	{
+		return partitionAll (c1.getX (), c1.getY (), c2.getX (), c2.getY (), numPartitions);
+	}
+	
+	
+	/**
+	 * Calculates partitions that each contain roughly the same number of points, rather than the
+	 * same area. Intended for clustered data, where equal sized partitions give some partitions far
+	 * more points than others. The bounding box is split recursively at quantiles of the points,
+	 * refer to {@link PartitionTree}. <br />
+	 * <br />
+	 * For very large data sets, a random sample of the points can be provided instead, which
+	 * gives partitions that are balanced to within the sampling error. Partitions can be empty if
+	 * there are fewer points than partitions.
+	 * 
+	 * @param xs X-coordinates of the points (or a sample of them). Not modified
+	 * @param ys Y-coordinates of the points (or a sample of them). Not modified
+	 * @param x1 First corner x-coordinate of the original bounding box
+	 * @param y1 First corner y-coordinate of the original bounding box
+	 * @param x2 Second (opposite) corner x-coordinate of the original bounding box
+	 * @param y2 Second (opposite) corner y-coordinate of the original bounding box
+	 * @param numPartitions Total number of partitions
+	 * 
+	 * @return All partitions
+	 */
+	public static PartitionTree partitionBalanced(double[] xs, double[] ys, double x1, double y1,
+			double x2, double y2, int numPartitions)
+	{
+		if (xs.length != ys.length)
+			throw new IllegalArgumentException ("Coordinate arrays have different lengths. xs: "
+					+ xs.length + ", ys: " + ys.length);
+		
+		return new PartitionTree (xs, ys, xs.length, Math.min (x1, x2), Math.min (y1, y2),
+				Math.max (x1, x2), Math.max (y1, y2), numPartitions);
+	}
+	
+	
+	/**
+	 * Refer to {@link #partitionBalanced(double[], double[], double, double, double, double, int)}.
+	 * The bounding box is the bounding box of the points.
+	 * 
+	 * @param xs X-coordinates of the points (or a sample of them). Not modified
+	 * @param ys Y-coordinates of the points (or a sample of them). Not modified
+	 * @param numPartitions Total number of partitions
+	 * 
+	 * @return All partitions
+	 */
+	public static PartitionTree partitionBalanced(double[] xs, double[] ys, int numPartitions)
+	{
+		if (xs.length == 0)
+			throw new IllegalArgumentException ("No points to calculate the bounding box from");
+		
+		double[] minMaxX = MathUtils.minMax (xs);
+		double[] minMaxY = MathUtils.minMax (ys);
+		
+		return partitionBalanced (xs, ys, minMaxX[0], minMaxY[0], minMaxX[1], minMaxY[1],
+				numPartitions);
+	}
+	
+	
+	/**
+	 * Refer to {@link #partitionBalanced(double[], double[], double, double, double, double, int)}.
+	 * The bounding box is the bounding box of the points.
+	 * 
+	 * @param points Points (or a sample of them). Not modified
+	 * @param numPartitions Total number of partitions
+	 * 
+	 * @return All partitions
+	 */
+	public static PartitionTree partitionBalanced(CoordinateArray2D points, int numPartitions)
+	{
+		double[] box = points.boundingBox ();
+		if (box == null)
+			throw new IllegalArgumentException ("No points to calculate the bounding box from");
+		
+		return new PartitionTree (points.getXs (), points.getYs (), points.size (), box[0], box[1],
+				box[2], box[3], numPartitions);
+	}
+	
+	
+	/**
+	 * Calculates partitions by ordering points along a space-filling curve and splitting the curve
+	 * into contiguous ranges that each contain roughly the same number of points. Partitions are
+	 * compact shards with good locality, but are not rectangular, refer to
+	 * {@link PartitionRanges}. A random sample of the points can be provided instead of all
+	 * points.
+	 * 
+	 * @param xs X-coordinates of the points (or a sample of them). Not modified
+	 * @param ys Y-coordinates of the points (or a sample of them). Not modified
+	 * @param numPartitions Total number of partitions
+	 * @param curve Curve used to order the points
+	 * 
+	 * @return All partitions
+	 */
+	public static PartitionRanges partitionCurve(double[] xs, double[] ys, int numPartitions,
+			SpaceFillingCurve curve)
+	{
+		if (xs.length != ys.length)
+			throw new IllegalArgumentException ("Coordinate arrays have different lengths. xs: "
+					+ xs.length + ", ys: " + ys.length);
+		
+		return new PartitionRanges (xs, ys, xs.length, numPartitions, curve);
+	}
+	
+	
+	/**
+	 * Refer to {@link #partitionCurve(double[], double[], int, SpaceFillingCurve)}
+	 * 
+	 * @param points Points (or a sample of them). Not modified
+	 * @param numPartitions Total number of partitions
+	 * @param curve Curve used to order the points
+	 * 
+	 * @return All partitions
+	 */
+	public static PartitionRanges partitionCurve(CoordinateArray2D points, int numPartitions,
+			SpaceFillingCurve curve)
+	{
+		return new PartitionRanges (points.getXs (), points.getYs (), points.size (),
+				numPartitions, curve);
+	}
+	
+	
+	/**
+	 * Calculates the grid used to split a bounding box into a number of partitions. Considers
+	 * every pair of factors of numPartitions (columns * rows = numPartitions) and chooses the
+	 * pair with the minimal total length of internal edges, which gives the most square
+	 * partitions for the shape of the bounding box. Ties are resolved in favour of the most
+	 * square grid, then in favour of splitting the longer side more.
+	 * 
+	 * Eg. for a square bounding box, 12 partitions uses a 4 x 3 grid, 9 uses 3 x 3 and 7 (a
+	 * prime number) uses 7 x 1. For a bounding box 4 times wider than it is high, 4 partitions
+	 * uses a 4 x 1 grid.
+	 * 
+	 * Note: the grid depends on the aspect ratio of the bounding box, not just on numPartitions.
+	 * Power of 2 numbers of partitions only keep the fixed layouts of earlier versions (eg. 128
+	 * uses 16 x 8) for roughly square bounding boxes. Longer bounding boxes are split more along
+	 * their longer side (eg. for a bounding box 4 times wider than it is high, 16 partitions uses
+	 * an 8 x 2 grid, and for one 8 times wider, 128 partitions uses a 32 x 4 grid).
+	 * 
+	 * @param width Width of the bounding box (can be negative)
+	 * @param height Height of the bounding box (can be negative)
+	 * @param numPartitions Total number of partitions
+	 * 
+	 * @return Size 2 array in format [columns, rows]
+	 */
+	public static int[] calculateGrid(double width, double height, int numPartitions)
+	{
+		if (numPartitions < 1)
+			throw new IllegalArgumentException (
+					"Number of partitions is less than 1. numPartitions: " + numPartitions);
+		
+		double w = Math.abs (width);
+		double h = Math.abs (height);
+		boolean wide = w >= h;
+		
+		int bestColumns = 1;
+		int bestRows = numPartitions;
+		double bestEdgeLength = Double.POSITIVE_INFINITY;
+		
+		for (int a = 1; (long) a * a <= numPartitions; a++) {
+			if (numPartitions % a != 0) {
+				continue;
 			}
-		} else if (MathUtils.isSquareNumber (numPartitions)) {
-			// Splits bounding box equally
 			
-			// Calculate proportion to split partition
-			int split = (int) (Math.log (numPartitions) / Math.log (2));
+			int b = numPartitions / a;
 			
-			partitionSizeX = (x2 - x1) / split;
-			partitionSizeY = (y2 - y1) / split;
-			
-			// Calculate position based on index. Simple modulo and division maps index into a grid
-			positionX = partitionIndex % split;
-			positionY = partitionIndex / split;
-		} else if (MathUtils.isPowOf2 (numPartitions)) {
-			/*
-			 * Calculates partitionSizeX and partitionSizeY using the splitX and splitY
-			 * 
-			 * Calculate splitX and splitY as the two "sequential" factors of numPartitions that
-			 * multiply to equal numPartitions.
-			 * 
-			 * Uses an optimization that assumes that splitX will be the "first" power of 2
-			 * greater than squareRoot(numPartitions) and splitY is the "first" power of 2 less than
-			 * squareRoot(numPartitions)
-			 * 
-			 * Eg. For numPartitions = 128
-			 * root = squareRoot(numPartitions) = squareRoot(128) = 11.31~ (approx.)
-			 * Factors of 128 are: 128, 64, 32, 16, 8, 4, 2, 1.
-			 * First factor above root is 16 and first factor below root is 8.
-			 * So splitX is 16, and splitY is 8
-			 * Also, splitX * splitY = 16 * 8 = 128 = numPartitions
-			 * 
-			 * IT WORKS!
-			 */
-			
-			double root = Math.sqrt (numPartitions);
-			// Calculate splitX. Uses optimization: finds the closest power of 2 greater than
-			// squareRoot(numPartitions)
-			int power = (int) Math.ceil (Math.log (root) / Math.log (2));
-			int splitX = (int) Math.pow (2, power);
-			// Calculate splitY. Assume splitY is 2^(power - 1)
-			int splitY = (int) Math.pow (2, power - 1);
-			
-			if (splitX * splitY == numPartitions) { // Just check it is correct
-				// Calculate partition sizes
-				partitionSizeX = (x2 - x1) / splitX;
-				partitionSizeY = (y2 - y1) / splitY;
+			// Try both orientations, the longer side getting more splits first
+			for (int orientation = 0; orientation < 2; orientation++) {
+				int columns = (orientation == 0) == wide ? b : a;
+				int rows = numPartitions / columns;
 				
-				positionX = partitionIndex % splitX;
-				positionY = (partitionIndex - positionX) / splitX;
-			} else {
-				StringBuilder sb = new StringBuilder ();
+				// Total length of the edges between partitions
+				double edgeLength = (columns - 1) * h + (rows - 1) * w;
 				
-				sb.append ("Something went wrong during power of 2 partition calculations. Diagnostics:");
-				sb.append ("\n");
-				sb.append (String.format (
-						"Num Partitions: %d \t partition index: %d \t C1: (%s) \t C2: (%s)",
-						numPartitions, partitionIndex, c1.toString (), c2.toString ()));
-				sb.append ("\n");
-				sb.append (String.format ("splitX = %d = 2 ^ %d", splitX, power));
-				sb.append ("\n");
-				sb.append (String.format ("splitY = %d = 2 ^ %d", splitY, power - 1));
-				sb.append ("\n");
-				sb.append (String.format (
-						"splitX * splitY = %d \t numPartitions = %d \t equal?: %b",
-						splitX * splitY, numPartitions, splitX * splitY == numPartitions));
-				
-				throw new Exception (sb.toString ());
+				if (edgeLength < bestEdgeLength
+						|| (edgeLength == bestEdgeLength && Math.abs (columns - rows) < Math
+								.abs (bestColumns - bestRows))) {
+					bestColumns = columns;
+					bestRows = rows;
+					bestEdgeLength = edgeLength;
+				}
 			}
-		} else {
-			StringBuilder sb = new StringBuilder ();
-			sb.append ("Invalid number of partitions. Number of Partitions is currently not supported");
-			sb.append ("\n");
-			sb.append (String.format (
-					"Num Partitions: %d \t partition index: %d \t C1: (%s) \t C2: (%s)",
-					numPartitions, partitionIndex, c1.toString (), c2.toString ()));
-			sb.append ("\n");
-			sb.append ("Value may be above 2^31?");
-			
-			throw new IllegalArgumentException (sb.toString ());
 		}
 		
-		// Calculate new bounding box coordinates for partition.
-		double partitionX1 = x1 + (positionX * partitionSizeX);
-		double partitionY1 = y1 + (positionY * partitionSizeY);
-		double partitionX2 = x1 + ((positionX + 1) * partitionSizeX);
-		double partitionY2 = y1 + ((positionY + 1) * partitionSizeY);
-		
-		return new Coordinate2D[] {
-				new Coordinate2D (partitionX1, partitionY1),
-				new Coordinate2D (partitionX2, partitionY2)};
+		return new int[] {bestColumns, bestRows};
 	}
 }
\ No newline at end of file
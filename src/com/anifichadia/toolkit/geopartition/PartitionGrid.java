@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.geopartition;
+
+import com.anifichadia.toolkit.geometry.Coordinate2D;
+
+/**
+ * All partitions of a bounding box split into a grid of equal sized partitions, as calculated by
+ * {@link GeoPartitioner#partitionAll(double, double, double, double, int)}. <br />
+ * <br />
+ * Partition i has the same bounding box as
+ * {@link GeoPartitioner#partition(Coordinate2D, Coordinate2D, int, int)} with partition index i.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class PartitionGrid extends PartitionLayout
+{
+	// ============================= Attributes ==============================
+	/** Number of columns */
+	protected final int		columns;
+	/** Number of rows */
+	protected final int		rows;
+	
+	/** First corner x-coordinate of the original bounding box */
+	protected final double	x1;
+	/** First corner y-coordinate of the original bounding box */
+	protected final double	y1;
+	/** Second corner x-coordinate of the original bounding box */
+	protected final double	x2;
+	/** Second corner y-coordinate of the original bounding box */
+	protected final double	y2;
+	
+	/** Partition x-size. Negative if x2 is less than x1 */
+	protected final double	partitionSizeX;
+	/** Partition y-size. Negative if y2 is less than y1 */
+	protected final double	partitionSizeY;
+	
+	/** Columns per unit of x, used to locate points */
+	protected final double	columnsPerX;
+	/** Rows per unit of y, used to locate points */
+	protected final double	rowsPerY;
+	
+	
+	// ============================ Constructors =============================
+	/**
+	 * @param x1 First corner x-coordinate of the bounding box
+	 * @param y1 First corner y-coordinate of the bounding box
+	 * @param x2 Second (opposite) corner x-coordinate of the bounding box
+	 * @param y2 Second (opposite) corner y-coordinate of the bounding box
+	 * @param columns Number of columns
+	 * @param rows Number of rows
+	 */
+	public PartitionGrid (double x1, double y1, double x2, double y2, int columns, int rows)
+	{
+		super (calculateBounds (x1, y1, x2, y2, columns, rows));
+		
+		this.x1 = x1;
+		this.y1 = y1;
+		this.x2 = x2;
+		this.y2 = y2;
+		this.columns = columns;
+		this.rows = rows;
+		
+		partitionSizeX = (x2 - x1) / columns;
+		partitionSizeY = (y2 - y1) / rows;
+		
+		columnsPerX = columns / (x2 - x1);
+		rowsPerY = rows / (y2 - y1);
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Finds the partition containing a point in O(1), by calculating its column and row. Refer to
+	 * {@link PartitionLayout#locate(double, double)}
+	 */
+	@ Override
+	public int locate(double x, double y)
+	{
+		// Casting truncates towards 0, so clamp before casting. Also handles NaN and infinity
+		double column = (x - x1) * columnsPerX;
+		double row = (y - y1) * rowsPerY;
+		
+		int positionX = column >= 1 ? Math.min ((int) column, columns - 1) : 0;
+		int positionY = row >= 1 ? Math.min ((int) row, rows - 1) : 0;
+		
+		return positionY * columns + positionX;
+	}
+	
+	
+	/**
+	 * Calculates the bounding boxes of all partitions of a grid
+	 * 
+	 * @return Bounding boxes of all partitions, 4 values per partition in format [x1, y1, x2, y2]
+	 */
+	private static double[] calculateBounds(double x1, double y1, double x2, double y2,
+			int columns, int rows)
+	{
+		if (columns < 1 || rows < 1)
+			throw new IllegalArgumentException (
+					"Number of columns or rows is less than 1. Columns: " + columns + ", rows: "
+							+ rows);
+		
+		double partitionSizeX = (x2 - x1) / columns;
+		double partitionSizeY = (y2 - y1) / rows;
+		
+		double[] bounds = new double[columns * rows * 4];
+		
+		int i = 0;
+		for (int positionY = 0; positionY < rows; positionY++) {
+			double partitionY1 = y1 + (positionY * partitionSizeY);
+			double partitionY2 = (positionY == rows - 1) ? y2 : y1
+					+ ((positionY + 1) * partitionSizeY);
+			
+			for (int positionX = 0; positionX < columns; positionX++) {
+				bounds[i++] = x1 + (positionX * partitionSizeX);
+				bounds[i++] = partitionY1;
+				bounds[i++] = (positionX == columns - 1) ? x2 : x1
+						+ ((positionX + 1) * partitionSizeX);
+				bounds[i++] = partitionY2;
+			}
+		}
+		
+		return bounds;
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	public int getColumns()
+	{
+		return columns;
+	}
+	
+	
+	public int getRows()
+	{
+		return rows;
+	}
+}
\ No newline at end of file
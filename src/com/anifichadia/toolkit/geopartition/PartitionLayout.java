@@ -0,0 +1,275 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.geopartition;
+
+import java.util.concurrent.RecursiveAction;
+
+import com.anifichadia.toolkit.geometry.Coordinate2D;
+import com.anifichadia.toolkit.geometry.CoordinateArray2D;
+import com.anifichadia.toolkit.utilities.ParallelUtils;
+
+/**
+ * Base class for a set of partitions calculated by {@link GeoPartitioner}. The bounding boxes of
+ * all partitions are stored in a single primitive array, 4 values per partition in format [x1, y1,
+ * x2, y2], where (x1, y1) and (x2, y2) are opposite corners. <br />
+ * <br />
+ * Points are routed to partitions using {@link #locate(double, double)}, or in bulk using
+ * {@link #assign(double[], double[], int[], boolean)}, without checking each bounding box.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public abstract class PartitionLayout
+{
+	// ============================= Attributes ==============================
+	/** Minimum number of points for bulk assignment to run in parallel */
+	public static final int		PARALLEL_THRESHOLD	= 1 << 15;
+	
+	/** Bounding boxes of all partitions, 4 values per partition in format [x1, y1, x2, y2] */
+	protected final double[]	bounds;
+	
+	
+	// ============================ Constructors =============================
+	protected PartitionLayout (double[] bounds)
+	{
+		this.bounds = bounds;
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Finds the partition containing a point. Points outside the bounding box of all partitions
+	 * are assigned to the closest partition along each axis, and points on an edge shared by two
+	 * partitions can be assigned to either.
+	 * 
+	 * @param x X-coordinate of the point
+	 * @param y Y-coordinate of the point
+	 * 
+	 * @return Index of the partition
+	 */
+	public abstract int locate(double x, double y);
+	
+	
+	/**
+	 * Refer to {@link #locate(double, double)}
+	 * 
+	 * @param c Point to locate
+	 * 
+	 * @return Index of the partition
+	 */
+	public int locate(Coordinate2D c)
+	{
+		return locate (c.getX (), c.getY ());
+	}
+	
+	
+	/**
+	 * Finds the partitions containing a set of points, refer to {@link #locate(double, double)}
+	 * 
+	 * @param xs X-coordinates of the points
+	 * @param ys Y-coordinates of the points
+	 * @param partitions Array to store the partition indices in. If null or too small, a new array
+	 *            is created
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 * 
+	 * @return Array of partition indices, where index i is the partition of point i
+	 */
+	public int[] assign(double[] xs, double[] ys, int[] partitions, boolean parallel)
+	{
+		if (xs.length != ys.length)
+			throw new IllegalArgumentException ("Coordinate arrays have different lengths. xs: "
+					+ xs.length + ", ys: " + ys.length);
+		
+		return assign (xs, ys, xs.length, partitions, parallel);
+	}
+	
+	
+	/**
+	 * Refer to {@link #assign(double[], double[], int[], boolean)}. Runs sequentially
+	 */
+	public int[] assign(double[] xs, double[] ys)
+	{
+		return assign (xs, ys, null, false);
+	}
+	
+	
+	/**
+	 * Refer to {@link #assign(double[], double[], int[], boolean)}
+	 * 
+	 * @param points Points to locate
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 * 
+	 * @return Array of partition indices, where index i is the partition of point i
+	 */
+	public int[] assign(CoordinateArray2D points, boolean parallel)
+	{
+		return assign (points.getXs (), points.getYs (), points.size (), null, parallel);
+	}
+	
+	
+	private int[] assign(double[] xs, double[] ys, int size, int[] partitions, boolean parallel)
+	{
+		if (partitions == null || partitions.length < size) {
+			partitions = new int[size];
+		}
+		
+		if (parallel && size > PARALLEL_THRESHOLD) {
+			ParallelUtils.getPool ().invoke (new AssignTask (this, xs, ys, partitions, 0, size));
+		} else {
+			assign (xs, ys, partitions, 0, size);
+		}
+		
+		return partitions;
+	}
+	
+	
+	/**
+	 * Finds the partitions containing a range of points
+	 * 
+	 * @param xs X-coordinates of the points
+	 * @param ys Y-coordinates of the points
+	 * @param partitions Array to store the partition indices in
+	 * @param from Start index, inclusive
+	 * @param to End index, exclusive
+	 */
+	protected void assign(double[] xs, double[] ys, int[] partitions, int from, int to)
+	{
+		for (int i = from; i < to; i++) {
+			partitions[i] = locate (xs[i], ys[i]);
+		}
+	}
+	
+	
+	/**
+	 * Creates the bounding box of a partition as {@link Coordinate2D}s
+	 * 
+	 * @param partitionIndex Index of the partition
+	 * 
+	 * @return 2-Coordinate value array containing the coordinates for the partitioned bounding box.
+	 */
+	public Coordinate2D[] getPartition(int partitionIndex)
+	{
+		int offset = offset (partitionIndex);
+		
+		return new Coordinate2D[] {
+				new Coordinate2D (bounds[offset], bounds[offset + 1]),
+				new Coordinate2D (bounds[offset + 2], bounds[offset + 3])};
+	}
+	
+	
+	private int offset(int partitionIndex)
+	{
+		if (partitionIndex < 0 || partitionIndex >= getNumPartitions ())
+			throw new IndexOutOfBoundsException ("Partition Index: " + partitionIndex
+					+ ", Number of partitions: " + getNumPartitions ());
+		
+		return partitionIndex * 4;
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	public int getNumPartitions()
+	{
+		return bounds.length / 4;
+	}
+	
+	
+	public double getX1(int partitionIndex)
+	{
+		return bounds[offset (partitionIndex)];
+	}
+	
+	
+	public double getY1(int partitionIndex)
+	{
+		return bounds[offset (partitionIndex) + 1];
+	}
+	
+	
+	public double getX2(int partitionIndex)
+	{
+		return bounds[offset (partitionIndex) + 2];
+	}
+	
+	
+	public double getY2(int partitionIndex)
+	{
+		return bounds[offset (partitionIndex) + 3];
+	}
+	
+	
+	/**
+	 * Gets the bounding boxes of all partitions, 4 values per partition in format [x1, y1, x2, y2].
+	 * Note: the returned array is not copied, so it must not be modified
+	 * 
+	 * @return Bounding boxes of all partitions
+	 */
+	public double[] getBounds()
+	{
+		return bounds;
+	}
+	
+	
+	// ============================= Inner Types =============================
+	/**
+	 * Assigns a range of points to partitions, splitting the range in half until it is below
+	 * {@link PartitionLayout#PARALLEL_THRESHOLD}.
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	protected static class AssignTask extends RecursiveAction
+	{
+		private static final long		serialVersionUID	= 1L;
+		
+		private final PartitionLayout	layout;
+		private final double[]			xs;
+		private final double[]			ys;
+		private final int[]				partitions;
+		private final int				from;
+		private final int				to;
+		
+		
+		public AssignTask (PartitionLayout layout, double[] xs, double[] ys, int[] partitions,
+				int from, int to)
+		{
+			this.layout = layout;
+			this.xs = xs;
+			this.ys = ys;
+			this.partitions = partitions;
+			this.from = from;
+			this.to = to;
+		}
+		
+		
+		@ Override
+		protected void compute()
+		{
+			if (to - from > PARALLEL_THRESHOLD) {
+				int mid = (from + to) >>> 1;
+				invokeAll (new AssignTask (layout, xs, ys, partitions, from, mid),
+						new AssignTask (layout, xs, ys, partitions, mid, to));
+			} else {
+				layout.assign (xs, ys, partitions, from, to);
+			}
+		}
+	}
+}
\ No newline at end of file
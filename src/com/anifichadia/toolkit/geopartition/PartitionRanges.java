@@ -0,0 +1,212 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.geopartition;
+
+import java.util.Arrays;
+
+/**
+ * Partitions formed by splitting a {@link SpaceFillingCurve} into contiguous ranges of keys, each
+ * containing roughly the same number of points, as calculated by
+ * {@link GeoPartitioner#partitionCurve(double[], double[], int, SpaceFillingCurve)}. <br />
+ * <br />
+ * Each partition is a range of curve keys, so partitions are compact but not rectangular. The
+ * bounding box of a partition is the bounding box of the points used to build it (NaN for empty
+ * partitions), and the bounding boxes of different partitions can overlap. Points are located in
+ * O(log n) by calculating their key and binary searching the start keys of the ranges.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class PartitionRanges extends PartitionLayout
+{
+	// ============================= Attributes ==============================
+	/** Curve used to calculate keys */
+	protected final SpaceFillingCurve	curve;
+	
+	/** Minimum x-coordinate of the bounding box that keys are calculated relative to */
+	protected final double				minX;
+	/** Minimum y-coordinate of the bounding box that keys are calculated relative to */
+	protected final double				minY;
+	/** Refer to {@link SpaceFillingCurve#scale(double, double)} */
+	protected final double				scaleX;
+	/** Refer to {@link SpaceFillingCurve#scale(double, double)} */
+	protected final double				scaleY;
+	
+	/** First key of each partition, in ascending order */
+	protected final long[]				startKeys;
+	/** Number of points used to build each partition */
+	protected final int[]				pointCounts;
+	
+	
+	// ============================ Constructors =============================
+	/**
+	 * Builds the partitions. Keys are calculated relative to the bounding box of the points.
+	 * 
+	 * @param xs X-coordinates of the points (or a sample of them). Not modified
+	 * @param ys Y-coordinates of the points (or a sample of them). Not modified
+	 * @param numPoints Number of points to use, starting at index 0
+	 * @param numPartitions Total number of partitions
+	 * @param curve Curve used to order the points
+	 */
+	public PartitionRanges (double[] xs, double[] ys, int numPoints, int numPartitions,
+			SpaceFillingCurve curve)
+	{
+		super (new double[checkNumPartitions (numPartitions) * 4]);
+		
+		if (numPoints < 1 || numPoints > xs.length || numPoints > ys.length)
+			throw new IllegalArgumentException ("Number of points is not in range [1, "
+					+ Math.min (xs.length, ys.length) + "]. Number of points: " + numPoints);
+		
+		this.curve = curve;
+		
+		double maxX = xs[0];
+		double maxY = ys[0];
+		double tempMinX = xs[0];
+		double tempMinY = ys[0];
+		for (int i = 1; i < numPoints; i++) {
+			tempMinX = Math.min (tempMinX, xs[i]);
+			tempMinY = Math.min (tempMinY, ys[i]);
+			maxX = Math.max (maxX, xs[i]);
+			maxY = Math.max (maxY, ys[i]);
+		}
+		
+		minX = tempMinX;
+		minY = tempMinY;
+		scaleX = SpaceFillingCurve.scale (minX, maxX);
+		scaleY = SpaceFillingCurve.scale (minY, maxY);
+		
+		long[] keys = curve.encodeAll (xs, ys, numPoints, minX, minY, maxX, maxY, null);
+		int[] order = SpaceFillingCurve.sortedOrder (keys, numPoints);
+		
+		// Split the sorted keys into equal-count ranges
+		startKeys = new long[numPartitions];
+		for (int p = 1; p < numPartitions; p++) {
+			int index = (int) ((long) numPoints * p / numPartitions);
+			startKeys[p] = (index < numPoints) ? keys[order[index]] : Long.MAX_VALUE;
+		}
+		
+		Arrays.fill (bounds, Double.NaN);
+		pointCounts = new int[numPartitions];
+		
+		for (int i = 0; i < numPoints; i++) {
+			int partition = locateKey (keys[i]);
+			int offset = partition * 4;
+			
+			if (pointCounts[partition]++ == 0) {
+				bounds[offset] = bounds[offset + 2] = xs[i];
+				bounds[offset + 1] = bounds[offset + 3] = ys[i];
+			} else {
+				bounds[offset] = Math.min (bounds[offset], xs[i]);
+				bounds[offset + 1] = Math.min (bounds[offset + 1], ys[i]);
+				bounds[offset + 2] = Math.max (bounds[offset + 2], xs[i]);
+				bounds[offset + 3] = Math.max (bounds[offset + 3], ys[i]);
+			}
+		}
+	}
+	
+	
+	// =============================== Methods ===============================
+	private static int checkNumPartitions(int numPartitions)
+	{
+		if (numPartitions < 1)
+			throw new IllegalArgumentException (
+					"Number of partitions is less than 1. numPartitions: " + numPartitions);
+		
+		return numPartitions;
+	}
+	
+	
+	/**
+	 * Finds the partition containing a point, by the range its key falls in. Refer to
+	 * {@link PartitionLayout#locate(double, double)}. Note: the partition's bounding box doesn't
+	 * necessarily contain the point
+	 */
+	@ Override
+	public int locate(double x, double y)
+	{
+		return locateKey (getKey (x, y));
+	}
+	
+	
+	/**
+	 * Finds the partition whose range of keys contains a key
+	 * 
+	 * @param key Key to find
+	 * 
+	 * @return Index of the partition
+	 */
+	public int locateKey(long key)
+	{
+		// Last partition with a start key that is not greater than the key
+		int lo = 0;
+		int hi = startKeys.length - 1;
+		while (lo < hi) {
+			int mid = (lo + hi + 1) >>> 1;
+			
+			if (startKeys[mid] <= key) {
+				lo = mid;
+			} else {
+				hi = mid - 1;
+			}
+		}
+		
+		return lo;
+	}
+	
+	
+	/**
+	 * Calculates the key of a point relative to the bounding box used to build the partitions
+	 * 
+	 * @param x X-coordinate of the point
+	 * @param y Y-coordinate of the point
+	 * 
+	 * @return Key of the point
+	 */
+	public long getKey(double x, double y)
+	{
+		return curve.encode (SpaceFillingCurve.quantize (x, minX, scaleX),
+				SpaceFillingCurve.quantize (y, minY, scaleY));
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	public SpaceFillingCurve getCurve()
+	{
+		return curve;
+	}
+	
+	
+	/**
+	 * Gets the number of points (of the points used to build the partitions) in a partition
+	 * 
+	 * @param partitionIndex Index of the partition
+	 * 
+	 * @return Number of points in the partition
+	 */
+	public int getPointCount(int partitionIndex)
+	{
+		if (partitionIndex < 0 || partitionIndex >= pointCounts.length)
+			throw new IndexOutOfBoundsException ("Partition Index: " + partitionIndex
+					+ ", Number of partitions: " + pointCounts.length);
+		
+		return pointCounts[partitionIndex];
+	}
+}
\ No newline at end of file
@@ -0,0 +1,315 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.geopartition;
+
+import java.util.Arrays;
+
+/**
+ * Partitions of a bounding box that each contain roughly the same number of points, as calculated
+ * by {@link GeoPartitioner#partitionBalanced(double[], double[], int)}. <br />
+ * <br />
+ * The bounding box is split recursively (a k-d tree). Each split is made across the longer side of
+ * the current box, and divides the number of partitions into floor(n / 2) and ceil(n / 2). The
+ * split position is the matching quantile of the points inside the box (the median when n is
+ * even), so both halves hold a share of the points in proportion to their number of partitions.
+ * Points on a split go to the upper half, so duplicate coordinates are never divided between both
+ * halves. Any number of partitions is supported. <br />
+ * <br />
+ * The points (or a sample of them) are only used while building, they are not kept. The split
+ * tree is stored in primitive arrays. Partition bounding boxes are in format [minX, minY, maxX,
+ * maxY], and partitions are indexed in depth-first order (lower halves first). Points are located
+ * in O(log n) by descending the tree.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class PartitionTree extends PartitionLayout
+{
+	// ============================= Attributes ==============================
+	/** Axis split by each node, 0 for x and 1 for y. -1 for leaf nodes */
+	protected final int[]		splitAxes;
+	/** Split position of each node. Coordinates less than the split go to the lower child */
+	protected final double[]	splitValues;
+	/** Lower child of each node. Partition index for leaf nodes */
+	protected final int[]		lowerNodes;
+	/** Upper child of each node */
+	protected final int[]		upperNodes;
+	
+	/** Number of points used to build each partition */
+	protected final int[]		pointCounts;
+	
+	/** Next unused node, only used while building */
+	private int					nextNode;
+	/** Next unused partition index, only used while building */
+	private int					nextPartition;
+	
+	
+	// ============================ Constructors =============================
+	/**
+	 * Builds the partitions. The coordinate arrays are copied and not modified.
+	 * 
+	 * @param xs X-coordinates of the points (or a sample of them)
+	 * @param ys Y-coordinates of the points (or a sample of them)
+	 * @param numPoints Number of points to use, starting at index 0
+	 * @param minX Minimum x-coordinate of the bounding box
+	 * @param minY Minimum y-coordinate of the bounding box
+	 * @param maxX Maximum x-coordinate of the bounding box
+	 * @param maxY Maximum y-coordinate of the bounding box
+	 * @param numPartitions Total number of partitions
+	 */
+	public PartitionTree (double[] xs, double[] ys, int numPoints, double minX, double minY,
+			double maxX, double maxY, int numPartitions)
+	{
+		super (new double[checkNumPartitions (numPartitions) * 4]);
+		
+		if (numPoints < 0 || numPoints > xs.length || numPoints > ys.length)
+			throw new IllegalArgumentException ("Number of points is not in range [0, "
+					+ Math.min (xs.length, ys.length) + "]. Number of points: " + numPoints);
+		else if ( !(minX <= maxX && minY <= maxY))
+			throw new IllegalArgumentException ("Bounding box minimum is more than its maximum");
+		
+		int numNodes = 2 * numPartitions - 1;
+		splitAxes = new int[numNodes];
+		splitValues = new double[numNodes];
+		lowerNodes = new int[numNodes];
+		upperNodes = new int[numNodes];
+		pointCounts = new int[numPartitions];
+		
+		double[][] coordinates = {
+				Arrays.copyOf (xs, numPoints), Arrays.copyOf (ys, numPoints)};
+		
+		build (coordinates, 0, numPoints, numPartitions, new double[] {minX, minY, maxX, maxY});
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Finds the partition containing a point in O(log n), by descending the split tree. Points on
+	 * a split go to the upper half, in the same way as while building, so locating the points used
+	 * to build the partitions gives exactly {@link #getPointCount(int)} points in each partition.
+	 * Refer to {@link PartitionLayout#locate(double, double)}
+	 */
+	@ Override
+	public int locate(double x, double y)
+	{
+		int node = 0;
+		
+		int axis;
+		while ((axis = splitAxes[node]) >= 0) {
+			double value = (axis == 0) ? x : y;
+			node = (value < splitValues[node]) ? lowerNodes[node] : upperNodes[node];
+		}
+		
+		return lowerNodes[node];
+	}
+	
+	
+	private static int checkNumPartitions(int numPartitions)
+	{
+		if (numPartitions < 1)
+			throw new IllegalArgumentException (
+					"Number of partitions is less than 1. numPartitions: " + numPartitions);
+		
+		return numPartitions;
+	}
+	
+	
+	/**
+	 * Recursively builds the tree for a range of points
+	 * 
+	 * @param coordinates Copies of the x- and y-coordinates, reordered while building
+	 * @param from Start of the range of points inside the box, inclusive
+	 * @param to End of the range of points inside the box, exclusive
+	 * @param numPartitions Number of partitions to split the box into
+	 * @param box Bounding box in format [minX, minY, maxX, maxY]
+	 * 
+	 * @return Index of the node
+	 */
+	private int build(double[][] coordinates, int from, int to, int numPartitions, double[] box)
+	{
+		int node = nextNode++;
+		
+		if (numPartitions == 1) {
+			int partition = nextPartition++;
+			System.arraycopy (box, 0, bounds, partition * 4, 4);
+			pointCounts[partition] = to - from;
+			
+			splitAxes[node] = -1;
+			lowerNodes[node] = partition;
+			
+			return node;
+		}
+		
+		int lowerPartitions = numPartitions / 2;
+		
+		// Split across the longer side, so partitions stay close to square
+		int axis = (box[2] - box[0]) >= (box[3] - box[1]) ? 0 : 1;
+		double min = box[axis];
+		double max = box[axis + 2];
+		
+		// Target number of points for the lower half
+		int split = from + (int) ((long) (to - from) * lowerPartitions / numPartitions);
+		double splitValue;
+		
+		if (from == to) {
+			// No points in the box, split it in half
+			splitValue = (min + max) / 2;
+		} else {
+			select (coordinates, axis, from, to, split);
+			double value = coordinates[axis][split];
+			
+			// Points equal to the split value go to the upper half (refer to locate), so split
+			// before or after the run of equal values, whichever is closer to the target
+			int less = partition (coordinates, axis, from, to, value);
+			int notGreater = partition (coordinates, axis, less, to, Math.nextUp (value));
+			splitValue = (split - less <= notGreater - split) ? value : Math.nextUp (value);
+		}
+		
+		splitValue = Math.min (Math.max (splitValue, min), max);
+		
+		// Points in [from, split) go to the lower half, matching locate
+		split = partition (coordinates, axis, from, to, splitValue);
+		
+		double[] lowerBox = box.clone ();
+		lowerBox[axis + 2] = splitValue;
+		double[] upperBox = box.clone ();
+		upperBox[axis] = splitValue;
+		
+		splitAxes[node] = axis;
+		splitValues[node] = splitValue;
+		lowerNodes[node] = build (coordinates, from, split, lowerPartitions, lowerBox);
+		upperNodes[node] = build (coordinates, split, to, numPartitions - lowerPartitions,
+				upperBox);
+		
+		return node;
+	}
+	
+	
+	/**
+	 * Reorders a range of points so the point at index k is the point that would be there if the
+	 * range was sorted along an axis, points before it are not greater and points after it are not
+	 * less (quickselect, O(n) expected)
+	 * 
+	 * @param coordinates X- and y-coordinates, both are reordered
+	 * @param axis Axis to order by, 0 for x and 1 for y
+	 * @param from Start of the range, inclusive
+	 * @param to End of the range, exclusive
+	 * @param k Index to select
+	 */
+	private static void select(double[][] coordinates, int axis, int from, int to, int k)
+	{
+		double[] keys = coordinates[axis];
+		int lo = from;
+		int hi = to - 1;
+		
+		while (hi > lo) {
+			// Median of three pivot
+			int mid = (lo + hi) >>> 1;
+			if (keys[mid] < keys[lo]) {
+				swap (coordinates, mid, lo);
+			}
+			if (keys[hi] < keys[lo]) {
+				swap (coordinates, hi, lo);
+			}
+			if (keys[hi] < keys[mid]) {
+				swap (coordinates, hi, mid);
+			}
+			double pivot = keys[mid];
+			
+			int i = lo;
+			int j = hi;
+			while (i <= j) {
+				while (keys[i] < pivot) {
+					i++;
+				}
+				while (keys[j] > pivot) {
+					j--;
+				}
+				
+				if (i <= j) {
+					swap (coordinates, i++, j--);
+				}
+			}
+			
+			if (k <= j) {
+				hi = j;
+			} else if (k >= i) {
+				lo = i;
+			} else {
+				return;
+			}
+		}
+	}
+	
+	
+	/**
+	 * Reorders a range of points so points less than a value along an axis come first
+	 * 
+	 * @param coordinates X- and y-coordinates, both are reordered
+	 * @param axis Axis to order by, 0 for x and 1 for y
+	 * @param from Start of the range, inclusive
+	 * @param to End of the range, exclusive
+	 * @param value Value to compare to
+	 * 
+	 * @return Index of the first point that is not less than value
+	 */
+	private static int partition(double[][] coordinates, int axis, int from, int to, double value)
+	{
+		double[] keys = coordinates[axis];
+		int boundary = from;
+		
+		for (int i = from; i < to; i++) {
+			if (keys[i] < value) {
+				swap (coordinates, i, boundary++);
+			}
+		}
+		
+		return boundary;
+	}
+	
+	
+	private static void swap(double[][] coordinates, int i, int j)
+	{
+		for (double[] values : coordinates) {
+			double temp = values[i];
+			values[i] = values[j];
+			values[j] = temp;
+		}
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	/**
+	 * Gets the number of points (of the points used to build the partitions) in a partition
+	 * 
+	 * @param partitionIndex Index of the partition
+	 * 
+	 * @return Number of points in the partition
+	 */
+	public int getPointCount(int partitionIndex)
+	{
+		if (partitionIndex < 0 || partitionIndex >= pointCounts.length)
+			throw new IndexOutOfBoundsException ("Partition Index: " + partitionIndex
+					+ ", Number of partitions: " + pointCounts.length);
+		
+		return pointCounts[partitionIndex];
+	}
+}
\ No newline at end of file
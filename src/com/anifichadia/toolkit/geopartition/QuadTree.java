@@ -0,0 +1,934 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.geopartition;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.anifichadia.toolkit.geometry.Coordinate2D;
+import com.anifichadia.toolkit.geometry.CoordinateArray2D;
+
+/**
+ * A point quadtree for range and nearest neighbour queries. Each point is stored with an integer
+ * id (eg. its index in an array of points), which is what queries return. <br />
+ * <br />
+ * Each node covers a bounding box and is split into 4 equal quadrants once it holds more than the
+ * leaf capacity. Leaves store their points in primitive arrays. Nodes are not split below
+ * {@link #MAX_DEPTH}, so duplicate points can't cause unbounded splitting. The tree can be bulk
+ * loaded, which partitions the points in place rather than inserting them one at a time, and
+ * points can be inserted and removed afterwards. Inserting a point outside the bounding box grows
+ * the tree upwards. Removing points collapses nodes that fit in a single leaf again. <br />
+ * <br />
+ * Note: Thread safe. Queries can run concurrently, inserts and removals are exclusive (uses a
+ * {@link ReentrantReadWriteLock}).
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class QuadTree
+{
+	// ============================= Attributes ==============================
+	/** Default maximum number of points in a leaf */
+	public static final int			DEFAULT_LEAF_CAPACITY	= 16;
+	/** Depth below which nodes are never split */
+	public static final int			MAX_DEPTH				= 32;
+	
+	/** Maximum number of points in a leaf (unless the leaf is at {@link #MAX_DEPTH}) */
+	protected final int				leafCapacity;
+	
+	/** Root node */
+	protected Node					root;
+	
+	protected final ReadWriteLock	lock					= new ReentrantReadWriteLock ();
+	
+	
+	// ============================ Constructors =============================
+	/**
+	 * Creates an empty tree
+	 * 
+	 * @param x1 First corner x-coordinate of the initial bounding box
+	 * @param y1 First corner y-coordinate of the initial bounding box
+	 * @param x2 Second (opposite) corner x-coordinate of the initial bounding box
+	 * @param y2 Second (opposite) corner y-coordinate of the initial bounding box
+	 * @param leafCapacity Maximum number of points in a leaf
+	 */
+	public QuadTree (double x1, double y1, double x2, double y2, int leafCapacity)
+	{
+		this.leafCapacity = checkLeafCapacity (leafCapacity);
+		
+		root = new Node (Math.min (x1, x2), Math.min (y1, y2), Math.max (x1, x2), Math.max (y1,
+				y2), leafCapacity);
+	}
+	
+	
+	/**
+	 * Refer to {@link #QuadTree(double, double, double, double, int)}. Uses
+	 * {@link #DEFAULT_LEAF_CAPACITY}
+	 */
+	public QuadTree (double x1, double y1, double x2, double y2)
+	{
+		this (x1, y1, x2, y2, DEFAULT_LEAF_CAPACITY);
+	}
+	
+	
+	/**
+	 * Bulk loads a tree. The bounding box is the bounding box of the points, and point i has id i.
+	 * 
+	 * @param xs X-coordinates of the points. Not modified
+	 * @param ys Y-coordinates of the points. Not modified
+	 * @param leafCapacity Maximum number of points in a leaf
+	 */
+	public QuadTree (double[] xs, double[] ys, int leafCapacity)
+	{
+		this (xs, ys, xs.length, leafCapacity);
+	}
+	
+	
+	/**
+	 * Refer to {@link #QuadTree(double[], double[], int)}. Uses {@link #DEFAULT_LEAF_CAPACITY}
+	 */
+	public QuadTree (double[] xs, double[] ys)
+	{
+		this (xs, ys, xs.length, DEFAULT_LEAF_CAPACITY);
+	}
+	
+	
+	/**
+	 * Refer to {@link #QuadTree(double[], double[], int)}. Uses {@link #DEFAULT_LEAF_CAPACITY}
+	 */
+	public QuadTree (CoordinateArray2D points)
+	{
+		this (points.getXs (), points.getYs (), points.size (), DEFAULT_LEAF_CAPACITY);
+	}
+	
+	
+	protected QuadTree (double[] xs, double[] ys, int size, int leafCapacity)
+	{
+		this.leafCapacity = checkLeafCapacity (leafCapacity);
+		
+		if (size > xs.length || size > ys.length)
+			throw new IllegalArgumentException ("Coordinate arrays have different lengths. xs: "
+					+ xs.length + ", ys: " + ys.length);
+		
+		double minX = 0;
+		double minY = 0;
+		double maxX = 0;
+		double maxY = 0;
+		
+		if (size > 0) {
+			minX = maxX = xs[0];
+			minY = maxY = ys[0];
+		}
+		
+		for (int i = 0; i < size; i++) {
+			checkCoordinates (xs[i], ys[i]);
+			
+			minX = Math.min (minX, xs[i]);
+			minY = Math.min (minY, ys[i]);
+			maxX = Math.max (maxX, xs[i]);
+			maxY = Math.max (maxY, ys[i]);
+		}
+		
+		int[] ids = new int[size];
+		for (int i = 0; i < size; i++) {
+			ids[i] = i;
+		}
+		
+		root = build (ids, Arrays.copyOf (xs, size), Arrays.copyOf (ys, size), 0, size, minX,
+				minY, maxX, maxY, 0);
+	}
+	
+	
+	// =============================== Methods ===============================
+	private static int checkLeafCapacity(int leafCapacity)
+	{
+		if (leafCapacity < 1)
+			throw new IllegalArgumentException ("Leaf capacity is less than 1. Leaf capacity: "
+					+ leafCapacity);
+		
+		return leafCapacity;
+	}
+	
+	
+	private static void checkCoordinates(double x, double y)
+	{
+		if (Double.isNaN (x) || Double.isInfinite (x) || Double.isNaN (y) || Double.isInfinite (y))
+			throw new IllegalArgumentException ("Coordinates are not finite. x: " + x + ", y: "
+					+ y);
+	}
+	
+	
+	/**
+	 * Recursively bulk loads a range of points. The points are partitioned into quadrants in
+	 * place.
+	 * 
+	 * @return Root of the subtree
+	 */
+	private Node build(int[] ids, double[] xs, double[] ys, int from, int to, double minX,
+			double minY, double maxX, double maxY, int depth)
+	{
+		int count = to - from;
+		
+		if (count <= leafCapacity || depth >= MAX_DEPTH) {
+			Node leaf = new Node (minX, minY, maxX, maxY, Math.max (count, leafCapacity));
+			System.arraycopy (ids, from, leaf.ids, 0, count);
+			System.arraycopy (xs, from, leaf.xs, 0, count);
+			System.arraycopy (ys, from, leaf.ys, 0, count);
+			leaf.size = count;
+			
+			return leaf;
+		}
+		
+		double midX = (minX + maxX) / 2;
+		double midY = (minY + maxY) / 2;
+		
+		// Split by y, then split both halves by x, giving the ranges of all 4 quadrants in order
+		int splitY = partition (ids, xs, ys, from, to, false, midY);
+		int splitLower = partition (ids, xs, ys, from, splitY, true, midX);
+		int splitUpper = partition (ids, xs, ys, splitY, to, true, midX);
+		
+		Node node = new Node (minX, minY, maxX, maxY, 0);
+		node.size = count;
+		node.children = new Node[] {
+				build (ids, xs, ys, from, splitLower, minX, minY, midX, midY, depth + 1),
+				build (ids, xs, ys, splitLower, splitY, midX, minY, maxX, midY, depth + 1),
+				build (ids, xs, ys, splitY, splitUpper, minX, midY, midX, maxY, depth + 1),
+				build (ids, xs, ys, splitUpper, to, midX, midY, maxX, maxY, depth + 1)};
+		
+		return node;
+	}
+	
+	
+	/**
+	 * Reorders a range of points so points with a coordinate less than a split value come first
+	 * 
+	 * @return Index of the first point with a coordinate not less than the split value
+	 */
+	private static int partition(int[] ids, double[] xs, double[] ys, int from, int to,
+			boolean byX, double split)
+	{
+		double[] keys = byX ? xs : ys;
+		
+		int i = from;
+		int j = to - 1;
+		while (true) {
+			while (i <= j && keys[i] < split) {
+				i++;
+			}
+			while (i <= j && keys[j] >= split) {
+				j--;
+			}
+			
+			if (i >= j)
+				return i;
+			
+			int tempId = ids[i];
+			ids[i] = ids[j];
+			ids[j] = tempId;
+			
+			double temp = xs[i];
+			xs[i] = xs[j];
+			xs[j] = temp;
+			
+			temp = ys[i];
+			ys[i] = ys[j];
+			ys[j] = temp;
+		}
+	}
+	
+	
+	/**
+	 * Inserts a point
+	 * 
+	 * @param id Id of the point
+	 * @param x X-coordinate of the point
+	 * @param y Y-coordinate of the point
+	 */
+	public void insert(int id, double x, double y)
+	{
+		checkCoordinates (x, y);
+		
+		lock.writeLock ().lock ();
+		try {
+			while ( !root.contains (x, y)) {
+				grow (x, y);
+			}
+			
+			Node node = root;
+			int depth = 0;
+			while (true) {
+				if (node.children == null) {
+					if (node.size < leafCapacity || depth >= MAX_DEPTH) {
+						node.add (id, x, y);
+						return;
+					}
+					
+					node.split (leafCapacity);
+				}
+				
+				node.size++;
+				node = node.children[node.quadrant (x, y)];
+				depth++;
+			}
+		} finally {
+			lock.writeLock ().unlock ();
+		}
+	}
+	
+	
+	/**
+	 * Refer to {@link #insert(int, double, double)}
+	 */
+	public void insert(int id, Coordinate2D c)
+	{
+		insert (id, c.getX (), c.getY ());
+	}
+	
+	
+	/**
+	 * Doubles the size of the bounding box towards a point, making the current root one of the
+	 * quadrants of the new root
+	 * 
+	 * @param x X-coordinate of the point to grow towards
+	 * @param y Y-coordinate of the point to grow towards
+	 */
+	private void grow(double x, double y)
+	{
+		Node old = root;
+		
+		double width = old.maxX - old.minX;
+		double height = old.maxY - old.minY;
+		
+		// Empty bounding box, grow by at least the distance to the point
+		double distance = Math.max (Math.abs (x - old.minX), Math.abs (y - old.minY));
+		if (width == 0) {
+			width = (height == 0) ? distance : height;
+		}
+		if (height == 0) {
+			height = width;
+		}
+		
+		boolean growLeft = x < old.minX;
+		boolean growDown = y < old.minY;
+		
+		double minX = growLeft ? old.minX - width : old.minX;
+		double minY = growDown ? old.minY - height : old.minY;
+		double maxX = growLeft ? old.maxX : old.maxX + width;
+		double maxY = growDown ? old.maxY : old.maxY + height;
+		
+		// Split exactly on the edges of the current root, so its bounding box is a quadrant
+		double midX = growLeft ? old.minX : old.maxX;
+		double midY = growDown ? old.minY : old.maxY;
+		
+		Node node = new Node (minX, minY, maxX, maxY, midX, midY, 0);
+		node.size = old.size;
+		node.children = node.createChildren (leafCapacity);
+		node.children[(growLeft ? 1 : 0) | (growDown ? 2 : 0)] = old;
+		
+		root = node;
+	}
+	
+	
+	/**
+	 * Removes a point
+	 * 
+	 * @param id Id of the point
+	 * @param x X-coordinate of the point, used to find it
+	 * @param y Y-coordinate of the point, used to find it
+	 * 
+	 * @return Boolean representing if the point was found and removed
+	 */
+	public boolean remove(int id, double x, double y)
+	{
+		lock.writeLock ().lock ();
+		try {
+			return root.contains (x, y) && remove (root, id, x, y);
+		} finally {
+			lock.writeLock ().unlock ();
+		}
+	}
+	
+	
+	/**
+	 * Refer to {@link #remove(int, double, double)}
+	 */
+	public boolean remove(int id, Coordinate2D c)
+	{
+		return remove (id, c.getX (), c.getY ());
+	}
+	
+	
+	/**
+	 * Recursively removes a point. Every child whose bounding box (including its edges) contains
+	 * the point is searched, as points on the edge between children are not necessarily in the
+	 * child given by {@link Node#quadrant(double, double)}. Eg. when the tree grows, the previous
+	 * root's points on its maximum edges lie on the split of the new root.
+	 * 
+	 * @return Boolean representing if the point was found and removed
+	 */
+	private boolean remove(Node node, int id, double x, double y)
+	{
+		if (node.children == null) {
+			for (int i = 0; i < node.size; i++) {
+				if (node.ids[i] == id) {
+					int last = --node.size;
+					node.ids[i] = node.ids[last];
+					node.xs[i] = node.xs[last];
+					node.ys[i] = node.ys[last];
+					
+					return true;
+				}
+			}
+			
+			return false;
+		}
+		
+		boolean found = false;
+		for (Node child : node.children) {
+			if (child.contains (x, y) && remove (child, id, x, y)) {
+				found = true;
+				break;
+			}
+		}
+		
+		if ( !found)
+			return false;
+		
+		// Collapse into a leaf once all points fit
+		if ( --node.size <= leafCapacity) {
+			node.collapse (leafCapacity);
+		}
+		
+		return true;
+	}
+	
+	
+	/** Removes all points. The bounding box is kept */
+	public void clear()
+	{
+		lock.writeLock ().lock ();
+		try {
+			root = new Node (root.minX, root.minY, root.maxX, root.maxY, leafCapacity);
+		} finally {
+			lock.writeLock ().unlock ();
+		}
+	}
+	
+	
+	/**
+	 * Finds all points inside a bounding box, including points on its edges
+	 * 
+	 * @param x1 First corner x-coordinate of the bounding box
+	 * @param y1 First corner y-coordinate of the bounding box
+	 * @param x2 Second (opposite) corner x-coordinate of the bounding box
+	 * @param y2 Second (opposite) corner y-coordinate of the bounding box
+	 * 
+	 * @return Ids of the points, in no particular order
+	 */
+	public int[] query(double x1, double y1, double x2, double y2)
+	{
+		double minX = Math.min (x1, x2);
+		double minY = Math.min (y1, y2);
+		double maxX = Math.max (x1, x2);
+		double maxY = Math.max (y1, y2);
+		
+		lock.readLock ().lock ();
+		try {
+			IdBuffer results = new IdBuffer ();
+			query (root, minX, minY, maxX, maxY, results);
+			
+			return Arrays.copyOf (results.ids, results.size);
+		} finally {
+			lock.readLock ().unlock ();
+		}
+	}
+	
+	
+	/**
+	 * Refer to {@link #query(double, double, double, double)}
+	 */
+	public int[] query(Coordinate2D c1, Coordinate2D c2)
+	{
+		return query (c1.getX (), c1.getY (), c2.getX (), c2.getY ());
+	}
+	
+	
+	private static void query(Node node, double minX, double minY, double maxX, double maxY,
+			IdBuffer results)
+	{
+		if (node.size == 0 || node.minX > maxX || node.maxX < minX || node.minY > maxY
+				|| node.maxY < minY)
+			return;
+		
+		if (node.children != null) {
+			for (Node child : node.children) {
+				query (child, minX, minY, maxX, maxY, results);
+			}
+			return;
+		}
+		
+		// Leaf entirely inside the bounding box, no need to check each point
+		boolean inside = node.minX >= minX && node.maxX <= maxX && node.minY >= minY
+				&& node.maxY <= maxY;
+		
+		for (int i = 0; i < node.size; i++) {
+			double x = node.xs[i];
+			double y = node.ys[i];
+			
+			if (inside || (x >= minX && x <= maxX && y >= minY && y <= maxY)) {
+				results.add (node.ids[i]);
+			}
+		}
+	}
+	
+	
+	/**
+	 * Finds the k nearest points to a point (k-NN). Searches nodes closest first, skipping nodes
+	 * that can't contain a point closer than the current k-th nearest point.
+	 * 
+	 * @param x X-coordinate of the point to search from
+	 * @param y Y-coordinate of the point to search from
+	 * @param k Number of points to find
+	 * 
+	 * @return Ids of the nearest points, nearest first. Fewer than k if the tree has fewer points
+	 */
+	public int[] nearest(double x, double y, int k)
+	{
+		if (k < 1)
+			throw new IllegalArgumentException ("k is less than 1. k: " + k);
+		
+		lock.readLock ().lock ();
+		try {
+			NearestHeap heap = new NearestHeap (Math.min (k, root.size));
+			if (heap.capacity > 0) {
+				nearest (root, x, y, heap);
+			}
+			
+			return heap.toSortedIds ();
+		} finally {
+			lock.readLock ().unlock ();
+		}
+	}
+	
+	
+	/**
+	 * Refer to {@link #nearest(double, double, int)}
+	 */
+	public int[] nearest(Coordinate2D c, int k)
+	{
+		return nearest (c.getX (), c.getY (), k);
+	}
+	
+	
+	/**
+	 * Finds the nearest point to a point
+	 * 
+	 * @param x X-coordinate of the point to search from
+	 * @param y Y-coordinate of the point to search from
+	 * 
+	 * @return Id of the nearest point, or -1 if the tree is empty
+	 */
+	public int nearest(double x, double y)
+	{
+		int[] ids = nearest (x, y, 1);
+		
+		return ids.length == 0 ? -1 : ids[0];
+	}
+	
+	
+	private static void nearest(Node node, double x, double y, NearestHeap heap)
+	{
+		if (node.children == null) {
+			for (int i = 0; i < node.size; i++) {
+				double dx = node.xs[i] - x;
+				double dy = node.ys[i] - y;
+				heap.offer (node.ids[i], dx * dx + dy * dy);
+			}
+			return;
+		}
+		
+		// Visit the children closest first
+		Node[] children = node.children.clone ();
+		double[] distances = new double[4];
+		for (int i = 0; i < 4; i++) {
+			distances[i] = children[i].squaredDistanceTo (x, y);
+			
+			for (int j = i; j > 0 && distances[j] < distances[j - 1]; j--) {
+				double tempDistance = distances[j];
+				distances[j] = distances[j - 1];
+				distances[j - 1] = tempDistance;
+				
+				Node temp = children[j];
+				children[j] = children[j - 1];
+				children[j - 1] = temp;
+			}
+		}
+		
+		for (int i = 0; i < 4; i++) {
+			if (heap.isFull () && distances[i] > heap.getMaxDistance ())
+				return;
+			
+			if (children[i].size > 0) {
+				nearest (children[i], x, y, heap);
+			}
+		}
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	/**
+	 * @return Number of points in the tree
+	 */
+	public int size()
+	{
+		lock.readLock ().lock ();
+		try {
+			return root.size;
+		} finally {
+			lock.readLock ().unlock ();
+		}
+	}
+	
+	
+	/**
+	 * @return Size 4 array containing the bounding box of the tree in format [minX, minY, maxX,
+	 *         maxY]
+	 */
+	public double[] getBounds()
+	{
+		lock.readLock ().lock ();
+		try {
+			return new double[] {root.minX, root.minY, root.maxX, root.maxY};
+		} finally {
+			lock.readLock ().unlock ();
+		}
+	}
+	
+	
+	public int getLeafCapacity()
+	{
+		return leafCapacity;
+	}
+	
+	
+	// ============================= Inner Types =============================
+	/**
+	 * Node of the tree. Leaves store their points in primitive arrays, other nodes store 4
+	 * children in quadrant order: [minX, minY], [maxX, minY], [minX, maxY], [maxX, maxY].
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	protected static class Node
+	{
+		protected final double	minX;
+		protected final double	minY;
+		protected final double	maxX;
+		protected final double	maxY;
+		protected final double	midX;
+		protected final double	midY;
+		
+		/** Number of points in the subtree */
+		protected int			size;
+		
+		/** Children, null for leaves */
+		protected Node[]		children;
+		
+		/** Point ids, for leaves */
+		protected int[]			ids;
+		/** Point x-coordinates, for leaves */
+		protected double[]		xs;
+		/** Point y-coordinates, for leaves */
+		protected double[]		ys;
+		
+		
+		/**
+		 * @param capacity Initial capacity of a leaf, or 0 for a node with children
+		 */
+		protected Node (double minX, double minY, double maxX, double maxY, int capacity)
+		{
+			this (minX, minY, maxX, maxY, (minX + maxX) / 2, (minY + maxY) / 2, capacity);
+		}
+		
+		
+		/**
+		 * @param midX X-coordinate splitting the quadrants
+		 * @param midY Y-coordinate splitting the quadrants
+		 * @param capacity Initial capacity of a leaf, or 0 for a node with children
+		 */
+		protected Node (double minX, double minY, double maxX, double maxY, double midX,
+				double midY, int capacity)
+		{
+			this.minX = minX;
+			this.minY = minY;
+			this.maxX = maxX;
+			this.maxY = maxY;
+			this.midX = midX;
+			this.midY = midY;
+			
+			if (capacity > 0) {
+				ids = new int[capacity];
+				xs = new double[capacity];
+				ys = new double[capacity];
+			}
+		}
+		
+		
+		protected boolean contains(double x, double y)
+		{
+			return x >= minX && x <= maxX && y >= minY && y <= maxY;
+		}
+		
+		
+		protected int quadrant(double x, double y)
+		{
+			return (x < midX ? 0 : 1) | (y < midY ? 0 : 2);
+		}
+		
+		
+		/**
+		 * @return Squared distance from a point to the closest point of the bounding box
+		 */
+		protected double squaredDistanceTo(double x, double y)
+		{
+			double dx = Math.max (Math.max (minX - x, x - maxX), 0);
+			double dy = Math.max (Math.max (minY - y, y - maxY), 0);
+			
+			return dx * dx + dy * dy;
+		}
+		
+		
+		/**
+		 * Appends a point to a leaf, growing its arrays if necessary
+		 */
+		protected void add(int id, double x, double y)
+		{
+			if (size == ids.length) {
+				int newLength = ids.length * 2;
+				ids = Arrays.copyOf (ids, newLength);
+				xs = Arrays.copyOf (xs, newLength);
+				ys = Arrays.copyOf (ys, newLength);
+			}
+			
+			ids[size] = id;
+			xs[size] = x;
+			ys[size] = y;
+			size++;
+		}
+		
+		
+		/**
+		 * Creates 4 empty leaves, one for each quadrant
+		 * 
+		 * @param capacity Initial capacity of the leaves
+		 * 
+		 * @return Children in quadrant order
+		 */
+		protected Node[] createChildren(int capacity)
+		{
+			return new Node[] {
+					new Node (minX, minY, midX, midY, capacity),
+					new Node (midX, minY, maxX, midY, capacity),
+					new Node (minX, midY, midX, maxY, capacity),
+					new Node (midX, midY, maxX, maxY, capacity)};
+		}
+		
+		
+		/**
+		 * Splits a leaf into 4 children and moves its points into them
+		 * 
+		 * @param capacity Initial capacity of the children
+		 */
+		protected void split(int capacity)
+		{
+			children = createChildren (capacity);
+			
+			for (int i = 0; i < size; i++) {
+				children[quadrant (xs[i], ys[i])].add (ids[i], xs[i], ys[i]);
+			}
+			
+			ids = null;
+			xs = null;
+			ys = null;
+		}
+		
+		
+		/**
+		 * Turns a node back into a leaf, moving all points of the subtree into it
+		 */
+		protected void collapse(int capacity)
+		{
+			ids = new int[Math.max (size, capacity)];
+			xs = new double[ids.length];
+			ys = new double[ids.length];
+			
+			size = 0;
+			collect (this);
+			children = null;
+		}
+		
+		
+		private void collect(Node node)
+		{
+			if (node.children == null) {
+				for (int i = 0; i < node.size; i++) {
+					ids[size] = node.ids[i];
+					xs[size] = node.xs[i];
+					ys[size] = node.ys[i];
+					size++;
+				}
+			} else {
+				for (Node child : node.children) {
+					collect (child);
+				}
+			}
+		}
+	}
+	
+	
+	/**
+	 * Growable buffer of ids, for query results
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	private static class IdBuffer
+	{
+		private int[]	ids	= new int[16];
+		private int		size;
+		
+		
+		private void add(int id)
+		{
+			if (size == ids.length) {
+				ids = Arrays.copyOf (ids, size * 2);
+			}
+			
+			ids[size++] = id;
+		}
+	}
+	
+	
+	/**
+	 * Bounded max-heap of the nearest points found so far, keyed by squared distance
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	private static class NearestHeap
+	{
+		private final int		capacity;
+		private final int[]		ids;
+		private final double[]	distances;
+		private int				size;
+		
+		
+		private NearestHeap (int capacity)
+		{
+			this.capacity = capacity;
+			ids = new int[capacity];
+			distances = new double[capacity];
+		}
+		
+		
+		private boolean isFull()
+		{
+			return size == capacity;
+		}
+		
+		
+		private double getMaxDistance()
+		{
+			return distances[0];
+		}
+		
+		
+		/**
+		 * Adds a point if the heap isn't full or it is nearer than the furthest point
+		 */
+		private void offer(int id, double distance)
+		{
+			if (size < capacity) {
+				// Sift up
+				int i = size++;
+				while (i > 0) {
+					int parent = (i - 1) >>> 1;
+					if (distances[parent] >= distance) {
+						break;
+					}
+					ids[i] = ids[parent];
+					distances[i] = distances[parent];
+					i = parent;
+				}
+				ids[i] = id;
+				distances[i] = distance;
+			} else if (distance < distances[0]) {
+				siftDown (id, distance, size);
+			}
+		}
+		
+		
+		/**
+		 * Replaces the root and sifts it down within the first size values
+		 */
+		private void siftDown(int id, double distance, int size)
+		{
+			int i = 0;
+			while (true) {
+				int child = 2 * i + 1;
+				if (child >= size) {
+					break;
+				}
+				if (child + 1 < size && distances[child + 1] > distances[child]) {
+					child++;
+				}
+				if (distances[child] <= distance) {
+					break;
+				}
+				ids[i] = ids[child];
+				distances[i] = distances[child];
+				i = child;
+			}
+			ids[i] = id;
+			distances[i] = distance;
+		}
+		
+		
+		/**
+		 * Empties the heap
+		 * 
+		 * @return Ids, nearest first
+		 */
+		private int[] toSortedIds()
+		{
+			int[] sorted = new int[size];
+			
+			for (int last = size - 1; last >= 0; last--) {
+				sorted[last] = ids[0];
+				siftDown (ids[last], distances[last], last);
+			}
+			size = 0;
+			
+			return sorted;
+		}
+	}
+}
\ No newline at end of file
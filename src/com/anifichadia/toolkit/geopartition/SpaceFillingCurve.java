@@ -0,0 +1,301 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.geopartition;
+
+import java.util.Arrays;
+
+import com.anifichadia.toolkit.geometry.Coordinate2D;
+import com.anifichadia.toolkit.geometry.CoordinateArray2D;
+
+/**
+ * Space-filling curves, which map 2D coordinates to a 1D key so that points that are close
+ * together usually have keys that are close together. Sorting points by their keys therefore
+ * gives a layout with good locality, and contiguous ranges of keys form compact shards (refer to
+ * {@link GeoPartitioner#partitionCurve(double[], double[], int, SpaceFillingCurve)}). <br />
+ * <br />
+ * Coordinates are quantized relative to a bounding box into a grid of 2^{@link #BITS} cells per
+ * axis, so keys are non-negative longs of at most 2 * {@link #BITS} bits. Coordinates outside the
+ * bounding box are clamped to its edges.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public enum SpaceFillingCurve
+{
+	/**
+	 * Z-order curve, which interleaves the bits of the cell coordinates. Very cheap to calculate,
+	 * but has large jumps between quadrants
+	 */
+	MORTON
+	{
+		@ Override
+		public long encode(int cellX, int cellY)
+		{
+			return spread (cellX) | (spread (cellY) << 1);
+		}
+	},
+	/**
+	 * Hilbert curve, where consecutive keys are always adjacent cells. Better locality than
+	 * {@link #MORTON}, at a higher cost per key
+	 */
+	HILBERT
+	{
+		@ Override
+		public long encode(int cellX, int cellY)
+		{
+			int x = cellX;
+			int y = cellY;
+			long key = 0;
+			
+			for (int s = 1 << (BITS - 1); s > 0; s >>>= 1) {
+				int rx = (x & s) != 0 ? 1 : 0;
+				int ry = (y & s) != 0 ? 1 : 0;
+				key += (long) s * s * ((3 * rx) ^ ry);
+				
+				// Rotate the quadrant so the curve inside it has the standard orientation. Only
+				// the lower bits are used from now on, so flipping all bits is fine
+				if (ry == 0) {
+					if (rx == 1) {
+						x = MAX_CELL - x;
+						y = MAX_CELL - y;
+					}
+					
+					int temp = x;
+					x = y;
+					y = temp;
+				}
+			}
+			
+			return key;
+		}
+	};
+	
+	/** Number of bits per axis */
+	public static final int	BITS		= 31;
+	/** Maximum cell coordinate */
+	public static final int	MAX_CELL	= (1 << BITS) - 1;
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Calculates the key of a cell
+	 * 
+	 * @param cellX X-coordinate of the cell, in range [0, {@link #MAX_CELL}]
+	 * @param cellY Y-coordinate of the cell, in range [0, {@link #MAX_CELL}]
+	 * 
+	 * @return Key of the cell
+	 */
+	public abstract long encode(int cellX, int cellY);
+	
+	
+	/**
+	 * Calculates the key of a point
+	 * 
+	 * @param x X-coordinate of the point
+	 * @param y Y-coordinate of the point
+	 * @param minX Minimum x-coordinate of the bounding box
+	 * @param minY Minimum y-coordinate of the bounding box
+	 * @param maxX Maximum x-coordinate of the bounding box
+	 * @param maxY Maximum y-coordinate of the bounding box
+	 * 
+	 * @return Key of the point
+	 */
+	public long encode(double x, double y, double minX, double minY, double maxX, double maxY)
+	{
+		return encode (quantize (x, minX, scale (minX, maxX)), quantize (y, minY, scale (minY,
+				maxY)));
+	}
+	
+	
+	/**
+	 * Refer to {@link #encode(double, double, double, double, double, double)}
+	 */
+	public long encode(Coordinate2D c, double minX, double minY, double maxX, double maxY)
+	{
+		return encode (c.getX (), c.getY (), minX, minY, maxX, maxY);
+	}
+	
+	
+	/**
+	 * Calculates the keys of a set of points
+	 * 
+	 * @param xs X-coordinates of the points
+	 * @param ys Y-coordinates of the points
+	 * @param size Number of points, starting at index 0
+	 * @param minX Minimum x-coordinate of the bounding box
+	 * @param minY Minimum y-coordinate of the bounding box
+	 * @param maxX Maximum x-coordinate of the bounding box
+	 * @param maxY Maximum y-coordinate of the bounding box
+	 * @param keys Array to store the keys in. If null or too small, a new array is created
+	 * 
+	 * @return Array of keys, where index i is the key of point i
+	 */
+	public long[] encodeAll(double[] xs, double[] ys, int size, double minX, double minY,
+			double maxX, double maxY, long[] keys)
+	{
+		if (keys == null || keys.length < size) {
+			keys = new long[size];
+		}
+		
+		double scaleX = scale (minX, maxX);
+		double scaleY = scale (minY, maxY);
+		
+		for (int i = 0; i < size; i++) {
+			keys[i] = encode (quantize (xs[i], minX, scaleX), quantize (ys[i], minY, scaleY));
+		}
+		
+		return keys;
+	}
+	
+	
+	/**
+	 * Reorders points along the curve, relative to their bounding box, for better locality
+	 * 
+	 * @param points Points to reorder
+	 * 
+	 * @return The order the points were moved into, where index i is the previous index of the
+	 *         point now at index i. Can be used to reorder data associated with the points
+	 */
+	public int[] sort(CoordinateArray2D points)
+	{
+		int size = points.size ();
+		if (size == 0)
+			return new int[0];
+		
+		double[] box = points.boundingBox ();
+		double[] xs = points.getXs ();
+		double[] ys = points.getYs ();
+		
+		long[] keys = encodeAll (xs, ys, size, box[0], box[1], box[2], box[3], null);
+		int[] order = sortedOrder (keys, size);
+		
+		double[] sortedXs = new double[size];
+		double[] sortedYs = new double[size];
+		for (int i = 0; i < size; i++) {
+			sortedXs[i] = xs[order[i]];
+			sortedYs[i] = ys[order[i]];
+		}
+		
+		System.arraycopy (sortedXs, 0, xs, 0, size);
+		System.arraycopy (sortedYs, 0, ys, 0, size);
+		
+		return order;
+	}
+	
+	
+	/**
+	 * Calculates the order that sorts a set of keys, using an O(n) radix sort. The sort is stable,
+	 * and passes over bytes that are the same in all keys are skipped.
+	 * 
+	 * @param keys Keys to sort, must not be negative. Not modified
+	 * @param size Number of keys, starting at index 0
+	 * 
+	 * @return Indices of the keys in ascending key order
+	 */
+	public static int[] sortedOrder(long[] keys, int size)
+	{
+		int[] order = new int[size];
+		int[] temp = new int[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		
+		int[] counts = new int[257];
+		for (int shift = 0; shift < 2 * BITS; shift += 8) {
+			Arrays.fill (counts, 0);
+			for (int i = 0; i < size; i++) {
+				counts[(int) ((keys[i] >>> shift) & 0xFF) + 1]++;
+			}
+			
+			// All keys have the same byte, nothing to do
+			boolean skip = false;
+			for (int b = 1; b <= 256 && !skip; b++) {
+				skip = counts[b] == size;
+			}
+			if (skip) {
+				continue;
+			}
+			
+			for (int b = 1; b <= 256; b++) {
+				counts[b] += counts[b - 1];
+			}
+			
+			for (int i = 0; i < size; i++) {
+				int index = order[i];
+				temp[counts[(int) ((keys[index] >>> shift) & 0xFF)]++] = index;
+			}
+			
+			int[] swap = order;
+			order = temp;
+			temp = swap;
+		}
+		
+		return order;
+	}
+	
+	
+	/**
+	 * Calculates the number of cells per unit of a bounding box side
+	 * 
+	 * @param min Minimum coordinate of the side
+	 * @param max Maximum coordinate of the side
+	 * 
+	 * @return Scale to pass to {@link #quantize(double, double, double)}
+	 */
+	public static double scale(double min, double max)
+	{
+		return max > min ? MAX_CELL / (max - min) : 0;
+	}
+	
+	
+	/**
+	 * Calculates the cell coordinate of a value, clamped to [0, {@link #MAX_CELL}]
+	 * 
+	 * @param value Coordinate to quantize
+	 * @param min Minimum coordinate of the bounding box
+	 * @param scale Refer to {@link #scale(double, double)}
+	 * 
+	 * @return Cell coordinate
+	 */
+	public static int quantize(double value, double min, double scale)
+	{
+		double cell = (value - min) * scale;
+		
+		// Casting clamps to the int range and maps NaN to 0
+		return cell >= 0 ? (int) cell : 0;
+	}
+	
+	
+	/**
+	 * Spreads the bits of a cell coordinate into the even bits of a long
+	 */
+	private static long spread(int cell)
+	{
+		long v = cell & 0xFFFFFFFFL;
+		v = (v | (v << 16)) & 0x0000FFFF0000FFFFL;
+		v = (v | (v << 8)) & 0x00FF00FF00FF00FFL;
+		v = (v | (v << 4)) & 0x0F0F0F0F0F0F0F0FL;
+		v = (v | (v << 2)) & 0x3333333333333333L;
+		v = (v | (v << 1)) & 0x5555555555555555L;
+		
+		return v;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.math.statistics;
+
+/**
+ * Calculates an exponentially weighted mean, variance and standard deviation for a stream of
+ * values. Each new value is weighted by alpha and the weights of older values decay by (1 - alpha)
+ * per value. Updates are O(1) and use no storage other than the current statistics. <br />
+ * <br />
+ * Note: Not thread safe.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class ExponentialStatistics
+{
+	// ============================= Attributes ==============================
+	/** Weight of each new value, in range (0, 1] */
+	protected final double	alpha;
+	
+	/** Number of values added */
+	protected long			count;
+	/** Exponentially weighted mean */
+	protected double		mean;
+	/** Exponentially weighted variance */
+	protected double		variance;
+	
+	
+	// ============================ Constructors =============================
+	/**
+	 * @param alpha Weight of each new value, in range (0, 1]. Higher values forget older values
+	 *            faster
+	 */
+	public ExponentialStatistics (double alpha)
+	{
+		if ( !(alpha > 0 && alpha <= 1))
+			throw new IllegalArgumentException ("Alpha is not in range (0, 1]. Alpha: " + alpha);
+		
+		this.alpha = alpha;
+	}
+	
+	
+	/**
+	 * Creates {@link ExponentialStatistics} where the weight of a value halves after a number of
+	 * values
+	 * 
+	 * @param halfLife Number of values after which a value's weight has halved
+	 * 
+	 * @return New {@link ExponentialStatistics}
+	 */
+	public static ExponentialStatistics fromHalfLife(double halfLife)
+	{
+		if ( !(halfLife > 0))
+			throw new IllegalArgumentException ("Half life is not greater than 0. Half life: "
+					+ halfLife);
+		
+		return new ExponentialStatistics (1 - Math.exp (Math.log (0.5) / halfLife));
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Adds a value
+	 * 
+	 * @param value Value to add
+	 */
+	public void add(double value)
+	{
+		if (count++ == 0) {
+			mean = value;
+			variance = 0;
+		} else {
+			double diff = value - mean;
+			double increment = alpha * diff;
+			
+			mean += increment;
+			variance = (1 - alpha) * (variance + diff * increment);
+		}
+	}
+	
+	
+	/** Removes all values */
+	public void clear()
+	{
+		count = 0;
+		mean = 0;
+		variance = 0;
+	}
+	
+	
+	/**
+	 * Calculates the number of standard deviations a value lies from the mean
+	 * 
+	 * @param value Value to test
+	 * 
+	 * @return Number of standard deviations the value is from the mean
+	 */
+	public double getNumStdDevsFromMean(double value)
+	{
+		return (getMean () - value) / getStdDev ();
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	public double getAlpha()
+	{
+		return alpha;
+	}
+	
+	
+	public long getCount()
+	{
+		return count;
+	}
+	
+	
+	/**
+	 * @return Exponentially weighted mean, or NaN if no values have been added
+	 */
+	public double getMean()
+	{
+		return count == 0 ? Double.NaN : mean;
+	}
+	
+	
+	/**
+	 * @return Exponentially weighted variance, or NaN if no values have been added
+	 */
+	public double getVariance()
+	{
+		return count == 0 ? Double.NaN : variance;
+	}
+	
+	
+	/**
+	 * @return Exponentially weighted standard deviation, or NaN if no values have been added
+	 */
+	public double getStdDev()
+	{
+		return Math.sqrt (getVariance ());
+	}
+}
\ No newline at end of file
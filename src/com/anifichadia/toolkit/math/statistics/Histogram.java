@@ -0,0 +1,462 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.math.statistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A concurrent histogram of non-negative long values (eg. latencies in nanoseconds) using
+ * log-linear buckets, similar to an HDR histogram. Unlike {@link Statistics}, values are not
+ * stored, so memory use depends only on the range and precision of the histogram. <br />
+ * <br />
+ * Values below 2^precisionBits have their own bucket. Above that, each power of 2 range is split
+ * into 2^(precisionBits - 1) equal buckets, so a value is reported with a relative error of at
+ * most 2^-(precisionBits - 1) (eg. 7 bits gives an error of at most 1.6%). Values above the
+ * highest trackable value are counted in the last bucket. <br />
+ * <br />
+ * Recording is thread safe, lock free and does not allocate. Bucket counts are updated atomically
+ * and the total count and sum are striped across threads to reduce contention. Reads (percentiles,
+ * snapshots) may run concurrently with recording, but only see a consistent view of the data if
+ * recording is paused.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class Histogram
+{
+	// ============================= Attributes ==============================
+	/** Spacing of stripes in the stripe arrays, to keep each stripe on its own cache line */
+	private static final int		STRIPE_SPACING	= 8;
+	/** Number of stripes used for the total count and sum. Always a power of 2 */
+	private static final int		NUM_STRIPES		= stripeCount ();
+	
+	/** Number of bits of precision */
+	protected final int				precisionBits;
+	/** Highest value that is tracked without being clamped */
+	protected final long			highestTrackableValue;
+	
+	/** Number of buckets that have a width of 1 (2^precisionBits) */
+	private final int				linearBucketCount;
+	/** Number of buckets per power of 2 range above the linear buckets (2^(precisionBits - 1)) */
+	private final int				subBucketCount;
+	
+	/** Count of values in each bucket */
+	protected final AtomicLongArray	counts;
+	/** Striped count of all recorded values */
+	protected final AtomicLongArray	totalCounts;
+	/** Striped sum of all recorded values */
+	protected final AtomicLongArray	totalSums;
+	/** Minimum recorded value */
+	protected final AtomicLong		min				= new AtomicLong (Long.MAX_VALUE);
+	/** Maximum recorded value */
+	protected final AtomicLong		max				= new AtomicLong (0);
+	
+	
+	// ============================ Constructors =============================
+	/**
+	 * @param highestTrackableValue Highest value to track. Higher values are counted in the last
+	 *            bucket
+	 * @param precisionBits Number of bits of precision, in range [2, 20]
+	 */
+	public Histogram (long highestTrackableValue, int precisionBits)
+	{
+		if (precisionBits < 2 || precisionBits > 20)
+			throw new IllegalArgumentException ("Precision bits is not in range [2, 20]. Bits: "
+					+ precisionBits);
+		else if (highestTrackableValue < 1)
+			throw new IllegalArgumentException (
+					"Highest trackable value is less than 1. Highest trackable value: "
+							+ highestTrackableValue);
+		
+		this.precisionBits = precisionBits;
+		this.highestTrackableValue = highestTrackableValue;
+		
+		linearBucketCount = 1 << precisionBits;
+		subBucketCount = 1 << (precisionBits - 1);
+		
+		counts = new AtomicLongArray (getBucketIndex (highestTrackableValue) + 1);
+		totalCounts = new AtomicLongArray (NUM_STRIPES * STRIPE_SPACING);
+		totalSums = new AtomicLongArray (NUM_STRIPES * STRIPE_SPACING);
+	}
+	
+	
+	/**
+	 * Refer to {@link #Histogram(long, int)}. Uses 7 bits of precision (at most 1.6% error)
+	 */
+	public Histogram (long highestTrackableValue)
+	{
+		this (highestTrackableValue, 7);
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Records a value
+	 * 
+	 * @param value Value to record. Must not be negative
+	 */
+	public void record(long value)
+	{
+		record (value, 1);
+	}
+	
+	
+	/**
+	 * Records a value multiple times
+	 * 
+	 * @param value Value to record. Must not be negative
+	 * @param count Number of times to record the value. Must not be negative
+	 */
+	public void record(long value, long count)
+	{
+		if (value < 0)
+			throw new IllegalArgumentException ("Value is negative. Value: " + value);
+		else if (count < 0)
+			throw new IllegalArgumentException ("Count is negative. Count: " + count);
+		else if (count == 0)
+			return;
+		
+		long clamped = Math.min (value, highestTrackableValue);
+		counts.getAndAdd (getBucketIndex (clamped), count);
+		
+		int stripe = stripeIndex ();
+		totalCounts.getAndAdd (stripe, count);
+		totalSums.getAndAdd (stripe, clamped * count);
+		
+		long current;
+		while (clamped < (current = min.get ())) {
+			if (min.compareAndSet (current, clamped)) {
+				break;
+			}
+		}
+		while (clamped > (current = max.get ())) {
+			if (max.compareAndSet (current, clamped)) {
+				break;
+			}
+		}
+	}
+	
+	
+	/**
+	 * Calculates the value at a percentile. The value is the highest value that is equivalent to
+	 * the bucket containing the percentile, limited to the maximum recorded value.
+	 * 
+	 * @param percentile Percentile, in range [0, 100]
+	 * 
+	 * @return Value at the percentile, or 0 if no values have been recorded
+	 */
+	public long getValueAtPercentile(double percentile)
+	{
+		if (percentile < 0 || percentile > 100)
+			throw new IllegalArgumentException ("Percentile is not in range [0, 100]. Percentile: "
+					+ percentile);
+		
+		int len = counts.length ();
+		
+		// Use the sum of the buckets rather than the striped total, as they may differ slightly
+		// while values are being recorded
+		long total = 0;
+		for (int i = 0; i < len; i++) {
+			total += counts.get (i);
+		}
+		
+		if (total == 0)
+			return 0;
+		
+		long target = Math.max (1, (long) Math.ceil ((percentile / 100.0) * total));
+		
+		long cumulative = 0;
+		for (int i = 0; i < len; i++) {
+			cumulative += counts.get (i);
+			
+			if (cumulative >= target)
+				return Math.min (getHighestEquivalentValue (i), getMax ());
+		}
+		
+		return getMax ();
+	}
+	
+	
+	/**
+	 * Creates a copy of this histogram
+	 * 
+	 * @return Copy of this histogram
+	 */
+	public Histogram copy()
+	{
+		Histogram copy = new Histogram (highestTrackableValue, precisionBits);
+		copy.add (this);
+		
+		return copy;
+	}
+	
+	
+	/**
+	 * Moves all values recorded since the last call (or since creation) into a new histogram and
+	 * resets this histogram. Values recorded concurrently are either in the returned histogram or
+	 * remain in this histogram, they are never lost. The returned histogram's total count, sum,
+	 * min and max may be slightly inaccurate if values are recorded concurrently.
+	 * 
+	 * @return Histogram of the values recorded in the interval
+	 */
+	public Histogram getIntervalHistogram()
+	{
+		Histogram interval = new Histogram (highestTrackableValue, precisionBits);
+		
+		int len = counts.length ();
+		for (int i = 0; i < len; i++) {
+			if (counts.get (i) != 0) {
+				interval.counts.set (i, counts.getAndSet (i, 0));
+			}
+		}
+		
+		for (int i = 0; i < NUM_STRIPES * STRIPE_SPACING; i += STRIPE_SPACING) {
+			interval.totalCounts.set (i, totalCounts.getAndSet (i, 0));
+			interval.totalSums.set (i, totalSums.getAndSet (i, 0));
+		}
+		
+		interval.min.set (min.getAndSet (Long.MAX_VALUE));
+		interval.max.set (max.getAndSet (0));
+		
+		return interval;
+	}
+	
+	
+	/**
+	 * Adds (merges) all values from another histogram into this histogram
+	 * 
+	 * @param other Histogram to add. Must have the same number of precision bits
+	 */
+	public void add(Histogram other)
+	{
+		if (other.precisionBits != precisionBits)
+			throw new IllegalArgumentException ("Histograms have different precision. Bits: "
+					+ precisionBits + ", other bits: " + other.precisionBits);
+		
+		int len = counts.length ();
+		int otherLen = other.counts.length ();
+		for (int i = 0; i < otherLen; i++) {
+			long count = other.counts.get (i);
+			
+			if (count != 0) {
+				counts.getAndAdd (Math.min (i, len - 1), count);
+			}
+		}
+		
+		int stripe = stripeIndex ();
+		totalCounts.getAndAdd (stripe, other.getTotalCount ());
+		totalSums.getAndAdd (stripe, other.getTotalSum ());
+		
+		if (other.getTotalCount () > 0) {
+			long otherMin = Math.min (other.getMin (), highestTrackableValue);
+			long otherMax = Math.min (other.getMax (), highestTrackableValue);
+			
+			long current;
+			while (otherMin < (current = min.get ())) {
+				if (min.compareAndSet (current, otherMin)) {
+					break;
+				}
+			}
+			while (otherMax > (current = max.get ())) {
+				if (max.compareAndSet (current, otherMax)) {
+					break;
+				}
+			}
+		}
+	}
+	
+	
+	/** Removes all recorded values */
+	public void reset()
+	{
+		int len = counts.length ();
+		for (int i = 0; i < len; i++) {
+			counts.set (i, 0);
+		}
+		
+		for (int i = 0; i < NUM_STRIPES * STRIPE_SPACING; i += STRIPE_SPACING) {
+			totalCounts.set (i, 0);
+			totalSums.set (i, 0);
+		}
+		
+		min.set (Long.MAX_VALUE);
+		max.set (0);
+	}
+	
+	
+	/**
+	 * Calculates the index of the bucket for a value
+	 * 
+	 * @param value Value, in range [0, highestTrackableValue]
+	 * 
+	 * @return Index of the bucket
+	 */
+	protected int getBucketIndex(long value)
+	{
+		if (value < linearBucketCount)
+			return (int) value;
+		
+		// Power of 2 range of the value, and the bucket within the range
+		int shift = 64 - Long.numberOfLeadingZeros (value) - precisionBits;
+		int subBucket = (int) (value >>> shift);
+		
+		return linearBucketCount + ((shift - 1) << (precisionBits - 1))
+				+ (subBucket - subBucketCount);
+	}
+	
+	
+	/**
+	 * Calculates the lowest value that is counted in a bucket
+	 * 
+	 * @param index Index of the bucket
+	 * 
+	 * @return Lowest value of the bucket
+	 */
+	protected long getLowestEquivalentValue(int index)
+	{
+		if (index < linearBucketCount)
+			return index;
+		
+		int offset = index - linearBucketCount;
+		int shift = (offset >>> (precisionBits - 1)) + 1;
+		long subBucket = (offset & (subBucketCount - 1)) + subBucketCount;
+		
+		return subBucket << shift;
+	}
+	
+	
+	/**
+	 * Calculates the highest value that is counted in a bucket
+	 * 
+	 * @param index Index of the bucket
+	 * 
+	 * @return Highest value of the bucket
+	 */
+	protected long getHighestEquivalentValue(int index)
+	{
+		if (index < linearBucketCount)
+			return index;
+		
+		int shift = ((index - linearBucketCount) >>> (precisionBits - 1)) + 1;
+		
+		return getLowestEquivalentValue (index) + (1L << shift) - 1;
+	}
+	
+	
+	/**
+	 * Calculates the stripe used by the current thread
+	 * 
+	 * @return Index of the stripe in the stripe arrays
+	 */
+	private static int stripeIndex()
+	{
+		long id = Thread.currentThread ().getId ();
+		
+		return (int) ((id ^ (id >>> 16)) & (NUM_STRIPES - 1)) * STRIPE_SPACING;
+	}
+	
+	
+	/**
+	 * Calculates the number of stripes. Uses the first power of 2 that is at least double the
+	 * number of processors, up to 64
+	 * 
+	 * @return Number of stripes
+	 */
+	private static int stripeCount()
+	{
+		int target = Math.min (64, Runtime.getRuntime ().availableProcessors () * 2);
+		
+		return Integer.highestOneBit (Math.max (1, target - 1)) << 1;
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	public int getPrecisionBits()
+	{
+		return precisionBits;
+	}
+	
+	
+	public long getHighestTrackableValue()
+	{
+		return highestTrackableValue;
+	}
+	
+	
+	/**
+	 * @return Number of recorded values
+	 */
+	public long getTotalCount()
+	{
+		long total = 0;
+		for (int i = 0; i < NUM_STRIPES * STRIPE_SPACING; i += STRIPE_SPACING) {
+			total += totalCounts.get (i);
+		}
+		
+		return total;
+	}
+	
+	
+	/**
+	 * @return Sum of recorded values (after clamping to the highest trackable value)
+	 */
+	public long getTotalSum()
+	{
+		long total = 0;
+		for (int i = 0; i < NUM_STRIPES * STRIPE_SPACING; i += STRIPE_SPACING) {
+			total += totalSums.get (i);
+		}
+		
+		return total;
+	}
+	
+	
+	/**
+	 * @return Mean of recorded values, or NaN if no values have been recorded
+	 */
+	public double getMean()
+	{
+		long count = getTotalCount ();
+		
+		return count == 0 ? Double.NaN : (double) getTotalSum () / count;
+	}
+	
+	
+	/**
+	 * @return Minimum recorded value, or 0 if no values have been recorded
+	 */
+	public long getMin()
+	{
+		long value = min.get ();
+		
+		return value == Long.MAX_VALUE ? 0 : value;
+	}
+	
+	
+	/**
+	 * @return Maximum recorded value, or 0 if no values have been recorded
+	 */
+	public long getMax()
+	{
+		return max.get ();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,336 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.math.statistics;
+
+import java.util.Arrays;
+
+/**
+ * An indexable, sorted multiset of doubles. Supports insertion, removal and lookup of the k-th
+ * smallest value in O(log n) expected time. <br />
+ * <br />
+ * Implemented as a treap where each node also stores the size of its subtree. Nodes are stored in
+ * primitive arrays (node 0 is the empty tree), and removed nodes are reused, so there is no
+ * allocation once the tree has reached its maximum size. Values are ordered using
+ * {@link Double#compare(double, double)}. <br />
+ * <br />
+ * Note: Not thread safe.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class OrderStatisticTree
+{
+	// ============================= Attributes ==============================
+	/** Node values */
+	private double[]	values;
+	/** Left child of each node */
+	private int[]		left;
+	/** Right child of each node */
+	private int[]		right;
+	/** Size of the subtree rooted at each node */
+	private int[]		sizes;
+	/** Heap priority of each node */
+	private int[]		priorities;
+	
+	/** Root node */
+	private int			root;
+	/** Head of the list of free nodes (linked through left) */
+	private int			free;
+	/** Next node that has never been used */
+	private int			next		= 1;
+	
+	/** State of the generator for node priorities */
+	private int			seed		= 0x9E3779B9;
+	
+	/** Result of the last split: tree with the lower values */
+	private int			splitLeft;
+	/** Result of the last split: tree with the higher values */
+	private int			splitRight;
+	
+	
+	// ============================ Constructors =============================
+	public OrderStatisticTree ()
+	{
+		this (16);
+	}
+	
+	
+	/**
+	 * @param initialCapacity Number of values that can be stored before the backing arrays grow
+	 */
+	public OrderStatisticTree (int initialCapacity)
+	{
+		if (initialCapacity < 1)
+			throw new IllegalArgumentException ("Initial capacity is less than 1. Capacity: "
+					+ initialCapacity);
+		
+		values = new double[initialCapacity + 1];
+		left = new int[initialCapacity + 1];
+		right = new int[initialCapacity + 1];
+		sizes = new int[initialCapacity + 1];
+		priorities = new int[initialCapacity + 1];
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Adds a value
+	 * 
+	 * @param value Value to add
+	 */
+	public void add(double value)
+	{
+		int node = allocate (value);
+		
+		split (root, value, false);
+		root = merge (merge (splitLeft, node), splitRight);
+	}
+	
+	
+	/**
+	 * Removes a single instance of a value
+	 * 
+	 * @param value Value to remove
+	 * 
+	 * @return Boolean representing if the value was found and removed
+	 */
+	public boolean remove(double value)
+	{
+		split (root, value, false);
+		int lower = splitLeft;
+		
+		split (splitRight, value, true);
+		int equal = splitLeft;
+		int higher = splitRight;
+		
+		boolean found = equal != 0;
+		if (found) {
+			// Remove the root of the tree of equal values
+			int removed = equal;
+			equal = merge (left[removed], right[removed]);
+			
+			left[removed] = free;
+			free = removed;
+		}
+		
+		root = merge (merge (lower, equal), higher);
+		
+		return found;
+	}
+	
+	
+	/**
+	 * Gets the k-th smallest value
+	 * 
+	 * @param index Index of the value in sorted order, in range [0, size)
+	 * 
+	 * @return The value at the index
+	 */
+	public double get(int index)
+	{
+		if (index < 0 || index >= size ())
+			throw new IndexOutOfBoundsException ("Index: " + index + ", Size: " + size ());
+		
+		int node = root;
+		while (true) {
+			int leftSize = sizes[left[node]];
+			
+			if (index < leftSize) {
+				node = left[node];
+			} else if (index == leftSize) {
+				return values[node];
+			} else {
+				index -= leftSize + 1;
+				node = right[node];
+			}
+		}
+	}
+	
+	
+	/**
+	 * Calculates the number of values that are less than a value
+	 * 
+	 * @param value Value to find the rank of
+	 * 
+	 * @return Number of values less than value
+	 */
+	public int rank(double value)
+	{
+		int rank = 0;
+		
+		int node = root;
+		while (node != 0) {
+			if (Double.compare (values[node], value) < 0) {
+				rank += sizes[left[node]] + 1;
+				node = right[node];
+			} else {
+				node = left[node];
+			}
+		}
+		
+		return rank;
+	}
+	
+	
+	/**
+	 * Calculates the median of the values, averaging the two middle values if the size is even
+	 * 
+	 * @return Median, or NaN if empty
+	 */
+	public double median()
+	{
+		int size = size ();
+		
+		if (size == 0)
+			return Double.NaN;
+		else if (size % 2 == 0)
+			return (get ((size / 2) - 1) + get (size / 2)) / 2.0;
+		else
+			return get (size / 2);
+	}
+	
+	
+	/** Removes all values */
+	public void clear()
+	{
+		root = 0;
+		free = 0;
+		next = 1;
+	}
+	
+	
+	/**
+	 * Gets the number of values
+	 * 
+	 * @return Number of values
+	 */
+	public int size()
+	{
+		return sizes[root];
+	}
+	
+	
+	/**
+	 * Gets a free node, growing the backing arrays if necessary
+	 * 
+	 * @param value Value of the node
+	 * 
+	 * @return Index of the node
+	 */
+	private int allocate(double value)
+	{
+		int node;
+		
+		if (free != 0) {
+			node = free;
+			free = left[node];
+		} else {
+			if (next == values.length) {
+				int newLength = values.length * 2;
+				values = Arrays.copyOf (values, newLength);
+				left = Arrays.copyOf (left, newLength);
+				right = Arrays.copyOf (right, newLength);
+				sizes = Arrays.copyOf (sizes, newLength);
+				priorities = Arrays.copyOf (priorities, newLength);
+			}
+			
+			node = next++;
+		}
+		
+		// Xorshift generator for priorities
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		
+		values[node] = value;
+		left[node] = 0;
+		right[node] = 0;
+		sizes[node] = 1;
+		priorities[node] = seed;
+		
+		return node;
+	}
+	
+	
+	/**
+	 * Splits a tree into two trees. Results are stored in {@link #splitLeft} and
+	 * {@link #splitRight}
+	 * 
+	 * @param node Root of the tree to split
+	 * @param value Value to split at
+	 * @param inclusive If true, values equal to value go to the left tree, otherwise to the right
+	 */
+	private void split(int node, double value, boolean inclusive)
+	{
+		if (node == 0) {
+			splitLeft = 0;
+			splitRight = 0;
+			return;
+		}
+		
+		int cmp = Double.compare (values[node], value);
+		
+		if (cmp < 0 || (inclusive && cmp == 0)) {
+			split (right[node], value, inclusive);
+			right[node] = splitLeft;
+			updateSize (node);
+			splitLeft = node;
+		} else {
+			split (left[node], value, inclusive);
+			left[node] = splitRight;
+			updateSize (node);
+			splitRight = node;
+		}
+	}
+	
+	
+	/**
+	 * Merges two trees. All values in the first tree must not be greater than values in the second
+	 * 
+	 * @param a Root of the lower tree
+	 * @param b Root of the higher tree
+	 * 
+	 * @return Root of the merged tree
+	 */
+	private int merge(int a, int b)
+	{
+		if (a == 0)
+			return b;
+		else if (b == 0)
+			return a;
+		
+		if (priorities[a] > priorities[b]) {
+			right[a] = merge (right[a], b);
+			updateSize (a);
+			return a;
+		} else {
+			left[b] = merge (a, left[b]);
+			updateSize (b);
+			return b;
+		}
+	}
+	
+	
+	private void updateSize(int node)
+	{
+		sizes[node] = sizes[left[node]] + sizes[right[node]] + 1;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,301 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.math.statistics;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import com.anifichadia.toolkit.utilities.ParallelUtils;
+
+/**
+ * {@link Statistics} that are calculated in parallel using the shared fork-join pool (refer to
+ * {@link ParallelUtils#getPool()}). Intended for very large data sets. <br />
+ * <br />
+ * The data is split into chunks of at most {@link #SEQUENTIAL_THRESHOLD} values. Each chunk
+ * calculates its own count, mean and sum of squared deviations (using two passes over the chunk),
+ * and the partial results are merged pairwise using the parallel algorithm of Chan, Golub and
+ * LeVeque. The mean and variance are therefore calculated in a single pass over the data. <br />
+ * <br />
+ * Error bounds: the sequential mean accumulates a rounding error of up to roughly n * eps relative
+ * to the sum of absolute values, where eps is the machine epsilon (2^-53). The merged result is
+ * bounded by roughly (SEQUENTIAL_THRESHOLD + log2(n)) * eps, so both paths agree to within the
+ * sequential bound. The same applies to the variance. The median and quantiles are exact, as they
+ * are read from a sorted copy of the data. <br />
+ * <br />
+ * Note: Calculations are for the population, not a sample.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class ParallelStatistics extends Statistics
+{
+	// ============================= Attributes ==============================
+	/** Maximum number of values processed by a single task without splitting */
+	public static final int	SEQUENTIAL_THRESHOLD	= 1 << 14;
+	
+	/** Sorted copy of the data, used for the median and quantiles */
+	protected double[]		sortedData;
+	
+	
+	// ============================ Constructors =============================
+	public ParallelStatistics (double[] data)
+	{
+		super (data);
+	}
+	
+	
+	// =============================== Methods ===============================
+	/** Calculates all statistics. The mean and variance are calculated in a single pass */
+	@ Override
+	protected void calculateStatistics()
+	{
+		double[] moments = calculateMoments ();
+		mean = moments[1];
+		variance = moments[2] / size;
+		
+		calculateStdDev ();
+		calculateMedian ();
+	}
+	
+	
+	/** Calculates the mean of the data */
+	@ Override
+	protected void calculateMean()
+	{
+		mean = calculateMoments ()[1];
+	}
+	
+	
+	/** Calculates the variance of the data */
+	@ Override
+	protected void calculateVariance()
+	{
+		variance = calculateMoments ()[2] / size;
+	}
+	
+	
+	/** Calculates the median of the data using a parallel sort of a copy of the data */
+	@ Override
+	protected void calculateMedian()
+	{
+		sortedData = Arrays.copyOf (data, size);
+		if (size > 1) {
+			ParallelUtils.getPool ().invoke (
+					new SortTask (sortedData, new double[size], 0, size));
+		}
+		
+		median = getQuantile (0.5);
+	}
+	
+	
+	/**
+	 * Calculates the count, mean and sum of squared deviations from the mean of the data
+	 * 
+	 * @return Size 3 array in format [count, mean, sum of squared deviations]
+	 */
+	protected double[] calculateMoments()
+	{
+		if (size == 0)
+			return new double[] {0, Double.NaN, Double.NaN};
+		
+		return ParallelUtils.getPool ().invoke (new MomentsTask (data, 0, size));
+	}
+	
+	
+	/**
+	 * Calculates a quantile of the data. Linearly interpolates between the closest ranks, so a
+	 * quantile of 0.5 is equal to the median.
+	 * 
+	 * @param quantile Quantile to calculate, in range [0, 1]
+	 * 
+	 * @return Value of the quantile
+	 */
+	public double getQuantile(double quantile)
+	{
+		if (quantile < 0 || quantile > 1)
+			throw new IllegalArgumentException ("Quantile is not in range [0, 1]. Quantile: "
+					+ quantile);
+		else if (size == 0)
+			return Double.NaN;
+		
+		double position = (size - 1) * quantile;
+		int lower = (int) position;
+		
+		if (lower >= size - 1)
+			return sortedData[size - 1];
+		
+		double fraction = position - lower;
+		return sortedData[lower] + fraction * (sortedData[lower + 1] - sortedData[lower]);
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	/**
+	 * Gets the sorted copy of the data. Note: the returned array is not copied, so it must not be
+	 * modified
+	 * 
+	 * @return Sorted data
+	 */
+	public double[] getSortedData()
+	{
+		return sortedData;
+	}
+	
+	
+	// ============================= Inner Types =============================
+	/**
+	 * Calculates [count, mean, sum of squared deviations] for a range of data, merging the partial
+	 * results of both halves when the range is split.
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	protected static class MomentsTask extends RecursiveTask<double[]>
+	{
+		private static final long	serialVersionUID	= 1L;
+		
+		private final double[]		data;
+		private final int			from;
+		private final int			to;
+		
+		
+		public MomentsTask (double[] data, int from, int to)
+		{
+			this.data = data;
+			this.from = from;
+			this.to = to;
+		}
+		
+		
+		@ Override
+		protected double[] compute()
+		{
+			int len = to - from;
+			
+			if (len <= SEQUENTIAL_THRESHOLD) {
+				double sum = 0;
+				for (int i = from; i < to; i++) {
+					sum += data[i];
+				}
+				double mean = sum / len;
+				
+				double m2 = 0;
+				for (int i = from; i < to; i++) {
+					double diff = data[i] - mean;
+					m2 += diff * diff;
+				}
+				
+				return new double[] {len, mean, m2};
+			}
+			
+			int mid = from + (len >>> 1);
+			MomentsTask left = new MomentsTask (data, from, mid);
+			MomentsTask right = new MomentsTask (data, mid, to);
+			left.fork ();
+			double[] r = right.compute ();
+			double[] l = left.join ();
+			
+			return merge (l, r);
+		}
+		
+		
+		/**
+		 * Merges two partial results
+		 * 
+		 * @param a First partial result
+		 * @param b Second partial result
+		 * 
+		 * @return Merged result, in format [count, mean, sum of squared deviations]
+		 */
+		protected static double[] merge(double[] a, double[] b)
+		{
+			double count = a[0] + b[0];
+			double delta = b[1] - a[1];
+			double mean = a[1] + delta * (b[0] / count);
+			double m2 = a[2] + b[2] + delta * delta * (a[0] * b[0] / count);
+			
+			return new double[] {count, mean, m2};
+		}
+	}
+	
+	
+	/**
+	 * Parallel merge sort. Ranges below {@link ParallelStatistics#SEQUENTIAL_THRESHOLD} are sorted
+	 * using {@link Arrays#sort(double[], int, int)}, both halves are then merged using
+	 * {@link Double#compare(double, double)} ordering (the same as {@link Arrays#sort(double[])}).
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	protected static class SortTask extends RecursiveAction
+	{
+		private static final long	serialVersionUID	= 1L;
+		
+		private final double[]		data;
+		private final double[]		buffer;
+		private final int			from;
+		private final int			to;
+		
+		
+		public SortTask (double[] data, double[] buffer, int from, int to)
+		{
+			this.data = data;
+			this.buffer = buffer;
+			this.from = from;
+			this.to = to;
+		}
+		
+		
+		@ Override
+		protected void compute()
+		{
+			if (to - from <= SEQUENTIAL_THRESHOLD) {
+				Arrays.sort (data, from, to);
+				return;
+			}
+			
+			int mid = from + ((to - from) >>> 1);
+			invokeAll (new SortTask (data, buffer, from, mid),
+					new SortTask (data, buffer, mid, to));
+			
+			// Already in order, no merge needed
+			if (Double.compare (data[mid - 1], data[mid]) <= 0)
+				return;
+			
+			System.arraycopy (data, from, buffer, from, to - from);
+			
+			int l = from;
+			int r = mid;
+			int i = from;
+			while (l < mid && r < to) {
+				if (Double.compare (buffer[l], buffer[r]) <= 0) {
+					data[i++] = buffer[l++];
+				} else {
+					data[i++] = buffer[r++];
+				}
+			}
+			
+			// Remaining values from the right half are already in place
+			System.arraycopy (buffer, l, data, i, mid - l);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,276 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.math.statistics;
+
+/**
+ * Calculates basic statistical values (mean, variance, standard deviation and median) for the most
+ * recent values of a stream. Values are stored in a ring buffer of a fixed capacity. Once full,
+ * adding a value evicts the oldest value. <br />
+ * <br />
+ * The mean and variance are updated in O(1) per value (Welford's algorithm, extended to remove
+ * values). To prevent rounding errors from accumulating, both are recalculated from the window
+ * after every capacity evictions, which keeps the amortised cost O(1). The median is optional
+ * and is maintained in an {@link OrderStatisticTree}, costing O(log n) per value. <br />
+ * <br />
+ * Note: Calculations are for the population, not a sample. Not thread safe.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class SlidingWindowStatistics
+{
+	// ============================= Attributes ==============================
+	/** Ring buffer of values */
+	protected final double[]			window;
+	/** Index of the oldest value */
+	protected int						start;
+	/** Number of values in the window */
+	protected int						size;
+	
+	/** Mean */
+	protected double					mean;
+	/** Sum of squared deviations from the mean */
+	protected double					sumSquaredDiffs;
+	/** Number of evictions since the mean and variance were last recalculated */
+	protected int						evictions;
+	
+	/** Sorted values, used for the median. Null if the median isn't tracked */
+	protected final OrderStatisticTree	sorted;
+	
+	
+	// ============================ Constructors =============================
+	/**
+	 * @param capacity Maximum number of values in the window
+	 * @param trackMedian Boolean representing if the median should be maintained
+	 */
+	public SlidingWindowStatistics (int capacity, boolean trackMedian)
+	{
+		if (capacity < 1)
+			throw new IllegalArgumentException ("Capacity is less than 1. Capacity: " + capacity);
+		
+		window = new double[capacity];
+		sorted = trackMedian ? new OrderStatisticTree (capacity) : null;
+	}
+	
+	
+	/**
+	 * Refer to {@link #SlidingWindowStatistics(int, boolean)}. Tracks the median.
+	 */
+	public SlidingWindowStatistics (int capacity)
+	{
+		this (capacity, true);
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Adds a value to the window, evicting the oldest value if the window is full
+	 * 
+	 * @param value Value to add
+	 */
+	public void add(double value)
+	{
+		int capacity = window.length;
+		
+		if (size == capacity) {
+			double evicted = window[start];
+			window[start] = value;
+			start = (start + 1) % capacity;
+			
+			if (sorted != null) {
+				sorted.remove (evicted);
+				sorted.add (value);
+			}
+			
+			if ( ++evictions >= capacity) {
+				recalculate ();
+			} else {
+				// Replace evicted value with the new value
+				double oldMean = mean;
+				mean += (value - evicted) / size;
+				sumSquaredDiffs += (value - evicted) * (value - mean + evicted - oldMean);
+				
+				if (sumSquaredDiffs < 0) {
+					sumSquaredDiffs = 0;
+				}
+			}
+		} else {
+			window[(start + size) % capacity] = value;
+			size++;
+			
+			if (sorted != null) {
+				sorted.add (value);
+			}
+			
+			double diff = value - mean;
+			mean += diff / size;
+			sumSquaredDiffs += diff * (value - mean);
+		}
+	}
+	
+	
+	/** Recalculates the mean and variance from the values in the window */
+	public void recalculate()
+	{
+		evictions = 0;
+		
+		if (size == 0) {
+			mean = 0;
+			sumSquaredDiffs = 0;
+			return;
+		}
+		
+		double sum = 0;
+		for (int i = 0; i < size; i++) {
+			sum += get (i);
+		}
+		mean = sum / size;
+		
+		double temp = 0;
+		for (int i = 0; i < size; i++) {
+			double diff = get (i) - mean;
+			temp += diff * diff;
+		}
+		sumSquaredDiffs = temp;
+	}
+	
+	
+	/** Removes all values from the window */
+	public void clear()
+	{
+		start = 0;
+		size = 0;
+		mean = 0;
+		sumSquaredDiffs = 0;
+		evictions = 0;
+		
+		if (sorted != null) {
+			sorted.clear ();
+		}
+	}
+	
+	
+	/**
+	 * Gets a value from the window
+	 * 
+	 * @param index Index of the value, where 0 is the oldest value
+	 * 
+	 * @return Value at the index
+	 */
+	public double get(int index)
+	{
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException ("Index: " + index + ", Size: " + size);
+		
+		return window[(start + index) % window.length];
+	}
+	
+	
+	/**
+	 * Copies the values in the window, from oldest to newest. The copy can be used to construct
+	 * {@link Statistics}
+	 * 
+	 * @return Copy of the values in the window
+	 */
+	public double[] toArray()
+	{
+		double[] copy = new double[size];
+		
+		int firstLength = Math.min (size, window.length - start);
+		System.arraycopy (window, start, copy, 0, firstLength);
+		System.arraycopy (window, 0, copy, firstLength, size - firstLength);
+		
+		return copy;
+	}
+	
+	
+	/**
+	 * Calculates the number of standard deviations a value lies from the mean
+	 * 
+	 * @param value Value to test
+	 * 
+	 * @return Number of standard deviations the value is from the mean
+	 */
+	public double getNumStdDevsFromMean(double value)
+	{
+		return (getMean () - value) / getStdDev ();
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	public int getSize()
+	{
+		return size;
+	}
+	
+	
+	public int getCapacity()
+	{
+		return window.length;
+	}
+	
+	
+	public boolean isFull()
+	{
+		return size == window.length;
+	}
+	
+	
+	/**
+	 * @return Mean of the window, or NaN if empty
+	 */
+	public double getMean()
+	{
+		return size == 0 ? Double.NaN : mean;
+	}
+	
+	
+	/**
+	 * @return Variance of the window, or NaN if empty
+	 */
+	public double getVariance()
+	{
+		return size == 0 ? Double.NaN : sumSquaredDiffs / size;
+	}
+	
+	
+	/**
+	 * @return Standard deviation of the window, or NaN if empty
+	 */
+	public double getStdDev()
+	{
+		return Math.sqrt (getVariance ());
+	}
+	
+	
+	/**
+	 * @return Median of the window, or NaN if empty
+	 * 
+	 * @throws IllegalStateException If the median isn't tracked
+	 */
+	public double getMedian()
+	{
+		if (sorted == null)
+			throw new IllegalStateException ("Median is not tracked");
+		
+		return sorted.median ();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.random;
+
+import java.util.Random;
+
+/**
+ * Draws random indices where the probability of each index is proportional to its weight, using
+ * Walker's alias method (with Vose's construction). Construction is O(n), and each draw is O(1):
+ * a random column is picked and either its index or its alias is returned. Intended for repeated
+ * weighted draws from the same weights (with replacement).
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class AliasSampler
+{
+	// ============================= Attributes ==============================
+	/** Probability of returning each column's own index rather than its alias */
+	protected final double[]	probabilities;
+	/** Alias of each column */
+	protected final int[]		aliases;
+	
+	
+	// ============================ Constructors =============================
+	/**
+	 * @param weights Weight of each index. Must be finite and not negative, with a positive sum.
+	 *            Not modified
+	 */
+	public AliasSampler (double[] weights)
+	{
+		int n = weights.length;
+		if (n == 0)
+			throw new IllegalArgumentException ("No weights to sample from");
+		
+		double sum = 0;
+		for (double weight : weights) {
+			if ( !(weight >= 0) || Double.isInfinite (weight))
+				throw new IllegalArgumentException (
+						"Weight is not a finite, non-negative number. Weight: " + weight);
+			
+			sum += weight;
+		}
+		
+		if ( !(sum > 0) || Double.isInfinite (sum))
+			throw new IllegalArgumentException ("Sum of weights is not positive and finite. Sum: "
+					+ sum);
+		
+		probabilities = new double[n];
+		aliases = new int[n];
+		
+		// Scale so the average weight is 1, and split into work lists (stored in one array, small
+		// from the start and large from the end)
+		double[] scaled = new double[n];
+		int[] work = new int[n];
+		int small = 0;
+		int large = n;
+		
+		for (int i = 0; i < n; i++) {
+			scaled[i] = weights[i] * n / sum;
+			
+			if (scaled[i] < 1) {
+				work[small++] = i;
+			} else {
+				work[ --large] = i;
+			}
+		}
+		
+		// Pair each small column with a large column, which donates the rest of the column
+		while (small > 0 && large < n) {
+			int less = work[ --small];
+			int more = work[large++];
+			
+			probabilities[less] = scaled[less];
+			aliases[less] = more;
+			
+			scaled[more] = (scaled[more] + scaled[less]) - 1;
+			if (scaled[more] < 1) {
+				work[small++] = more;
+			} else {
+				work[ --large] = more;
+			}
+		}
+		
+		// Remaining columns are full, apart from rounding errors
+		while (large < n) {
+			probabilities[work[large++]] = 1;
+		}
+		while (small > 0) {
+			probabilities[work[ --small]] = 1;
+		}
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Draws a random index
+	 * 
+	 * @param random Source of random numbers
+	 * 
+	 * @return Index in range [0, number of weights)
+	 */
+	public int next(Random random)
+	{
+		int column = Randomiser.nextInt (random, probabilities.length);
+		
+		return random.nextDouble () < probabilities[column] ? column : aliases[column];
+	}
+	
+	
+	/**
+	 * Refer to {@link #next(Random)}. Uses {@link Randomiser#getRandom()}
+	 */
+	public int next()
+	{
+		return next (Randomiser.getRandom ());
+	}
+	
+	
+	/**
+	 * Draws random indices into an array
+	 * 
+	 * @param indices Array to fill
+	 * @param random Source of random numbers
+	 */
+	public void fill(int[] indices, Random random)
+	{
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = next (random);
+		}
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	/**
+	 * @return Number of weights
+	 */
+	public int size()
+	{
+		return probabilities.length;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.random;
+
+import java.util.Random;
+
+/**
+ * Base class for fast, 64-bit pseudo random number generators. Subclasses only implement
+ * {@link #nextLong()} and {@link #setSeed(long)}, all other values are derived from 64-bit
+ * outputs, so it can be used anywhere a {@link Random} is expected. <br />
+ * <br />
+ * Note: Not thread safe, unlike {@link Random}. Each thread should use its own generator (refer to
+ * {@link Randomiser#setThreadLocalMode(boolean)}). Gaussian values are generated using
+ * {@link Ziggurat}.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public abstract class FastRandom extends Random
+{
+	// ============================= Attributes ==============================
+	private static final long	serialVersionUID	= 1L;
+	
+	
+	// ============================ Constructors =============================
+	/**
+	 * Note: {@link Random}'s constructor calls {@link #setSeed(long)} before subclass fields are
+	 * initialised, so subclasses must not use field initialisers for their state
+	 * 
+	 * @param seed Initial seed
+	 */
+	protected FastRandom (long seed)
+	{
+		super (seed);
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Generates the next 64 random bits. All other values are derived from this
+	 */
+	@ Override
+	public abstract long nextLong();
+	
+	
+	/**
+	 * Resets the state of the generator from a seed
+	 * 
+	 * @param seed Seed to derive the state from
+	 */
+	protected abstract void seedState(long seed);
+	
+	
+	/**
+	 * Creates a new generator that generates a different sequence to this generator, for use in
+	 * another thread or task
+	 * 
+	 * @return New generator
+	 */
+	public abstract FastRandom split();
+	
+	
+	// ======================== Overridden from Random =======================
+	@ Override
+	public void setSeed(long seed)
+	{
+		// Also clears the cached Gaussian value
+		super.setSeed (seed);
+		seedState (seed);
+	}
+	
+	
+	@ Override
+	protected int next(int bits)
+	{
+		return (int) (nextLong () >>> (64 - bits));
+	}
+	
+	
+	@ Override
+	public int nextInt()
+	{
+		return (int) (nextLong () >>> 32);
+	}
+	
+	
+	/**
+	 * Generates an unbiased random integer in range [0, bound), refer to
+	 * {@link Randomiser#nextInt(Random, int)}
+	 */
+	@ Override
+	public int nextInt(int bound)
+	{
+		return Randomiser.nextInt (this, bound);
+	}
+	
+	
+	@ Override
+	public double nextDouble()
+	{
+		return (nextLong () >>> 11) * 0x1.0p-53;
+	}
+	
+	
+	@ Override
+	public float nextFloat()
+	{
+		return (nextLong () >>> 40) * 0x1.0p-24f;
+	}
+	
+	
+	@ Override
+	public boolean nextBoolean()
+	{
+		return nextLong () < 0;
+	}
+	
+	
+	@ Override
+	public void nextBytes(byte[] bytes)
+	{
+		int i = 0;
+		while (i < bytes.length) {
+			long value = nextLong ();
+			for (int n = Math.min (bytes.length - i, 8); n > 0; n--, value >>>= 8) {
+				bytes[i++] = (byte) value;
+			}
+		}
+	}
+	
+	
+	/**
+	 * Generates a normally distributed value using {@link Ziggurat}
+	 */
+	@ Override
+	public double nextGaussian()
+	{
+		return Ziggurat.nextGaussian (this);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.random;
+
+import java.util.Random;
+
+/**
+ * Pseudo random number generator algorithms that can be used by {@link Randomiser}, refer to
+ * {@link Randomiser#setAlgorithm(RandomAlgorithm)}.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public enum RandomAlgorithm
+{
+	/** {@link Random}, a 48-bit linear congruential generator. Thread safe */
+	JAVA_UTIL_RANDOM
+	{
+		@ Override
+		public Random create(long seed)
+		{
+			return new Random (seed);
+		}
+	},
+	/** {@link SplitMix64Random}. Not thread safe */
+	SPLIT_MIX_64
+	{
+		@ Override
+		public Random create(long seed)
+		{
+			return new SplitMix64Random (seed);
+		}
+	},
+	/** {@link Xoshiro256PlusPlusRandom}. Not thread safe */
+	XOSHIRO_256_PLUS_PLUS
+	{
+		@ Override
+		public Random create(long seed)
+		{
+			return new Xoshiro256PlusPlusRandom (seed);
+		}
+	};
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Creates a generator
+	 * 
+	 * @param seed Initial seed
+	 * 
+	 * @return New generator
+	 */
+	public abstract Random create(long seed);
+	
+	
+	/**
+	 * @return Boolean representing if a single generator can be shared by multiple threads
+	 */
+	public boolean isThreadSafe()
+	{
+		return this == JAVA_UTIL_RANDOM;
+	}
+}
\ No newline at end of file
@@ -21,11 +21,33 @@
 package com.anifichadia.toolkit.random;
 
 import java.util.Random;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.anifichadia.toolkit.utilities.ParallelUtils;
 
 /**
  * Wrapper for the {@link Random} class to perform various random number generation methods. <br />
  * <br />
- * Note: May not be thread safe. Uses a single, static {@link Random} object
+ * By default, uses a single, static {@link Random} object. This is thread safe, but its seed is
+ * updated atomically, which is a point of contention when many threads generate values. In thread
+ * local mode (refer to {@link #setThreadLocalMode(boolean)}), each thread uses its own generator
+ * instead, so threads never contend. <br />
+ * <br />
+ * Thread local generators are reproducible: the generator of each thread is seeded from the base
+ * seed (refer to {@link #setSeed(long)}) and a stream index. Stream indices are assigned to threads
+ * in the order they first generate a value, so for results that don't depend on thread scheduling,
+ * each task should select its own stream using {@link #setThreadStream(long)}. <br />
+ * <br />
+ * The generator algorithm can be selected at runtime (refer to
+ * {@link #setAlgorithm(RandomAlgorithm)}). Only {@link RandomAlgorithm#JAVA_UTIL_RANDOM} is thread
+ * safe as a shared generator, so selecting any other algorithm enables thread local mode, and
+ * thread local mode cannot be disabled while it is selected. <br />
+ * <br />
+ * Arrays can be filled in bulk (eg. {@link #fill(double[], boolean)}). Bulk fills split the array
+ * into chunks of {@link #FILL_CHUNK_SIZE} values, each generated by an independent stream that is
+ * seeded from the current generator, so the values are the same whether or not the fill runs in
+ * parallel.
  * 
  * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
  *         (http://github.com/AniFichadia)
@@ -33,7 +55,26 @@ import java.util.Random;
 public class Randomiser
 {
 	// ============================= Attributes ==============================
-	private static Random	rand	= new Random ();
+	/** Number of values generated by each independent stream in bulk fills */
+	public static final int							FILL_CHUNK_SIZE	= 1 << 16;
+	
+	/** Algorithm of all generators */
+	private static volatile RandomAlgorithm			algorithm		=
+			RandomAlgorithm.JAVA_UTIL_RANDOM;
+	/** Shared generator, used unless in thread local mode. Always thread safe */
+	private static volatile Random					rand			= new Random ();
+	
+	/** Boolean representing if each thread uses its own generator */
+	private static volatile boolean					threadLocalMode;
+	/** Seed that the seeds of thread local generators are derived from */
+	private static volatile long					baseSeed		= new Random ().nextLong ();
+	/** Incremented when the base seed changes, so thread local generators are reseeded */
+	private static volatile int						generation;
+	/** Next stream index to assign to a thread */
+	private static final AtomicLong					nextStream		= new AtomicLong ();
+	
+	/** Generator of each thread, used in thread local mode */
+	private static final ThreadLocal<ThreadState>	threadStates	= new ThreadLocal<> ();
 	
 	
 	// =============================== Methods ===============================
@@ -44,7 +85,7 @@ public class Randomiser
 	 */
 	public static int randInt()
 	{
-		return rand.nextInt ();
+		return getRandom ().nextInt ();
 	}
 	
 	
@@ -60,7 +101,44 @@ public class Randomiser
 	 */
 	public static int randIntBetween(int start, int endExclusive)
 	{
-		return rand.nextInt (endExclusive - start) + start;
+		if (endExclusive <= start)
+			throw new IllegalArgumentException ("End is not more than start. Start: " + start
+					+ ", end: " + endExclusive);
+		
+		// The range can be up to 2^32 - 1, so it is calculated as a long to prevent overflow
+		return (int) (start + nextUnsignedInt (getRandom (), (long) endExclusive - start));
+	}
+	
+	
+	/**
+	 * Generates a randomly generated long
+	 * 
+	 * @return A pseudo randomly generated long.
+	 */
+	public static long randLong()
+	{
+		return getRandom ().nextLong ();
+	}
+	
+	
+	/**
+	 * Generates a random long between a requested range. Value will be in range: [start,
+	 * endExclusive). Supports the full range of longs
+	 * 
+	 * @param start Minimum number to generate
+	 * @param endExclusive Maximum number to generate, excluding the value. Just add 1 to the value
+	 *            to include
+	 * 
+	 * @return Random long in range [start, endExclusive)
+	 */
+	public static long randLongBetween(long start, long endExclusive)
+	{
+		if (endExclusive <= start)
+			throw new IllegalArgumentException ("End is not more than start. Start: " + start
+					+ ", end: " + endExclusive);
+		
+		// The difference overflows for wide ranges, but is correct as an unsigned value
+		return start + nextUnsignedLong (getRandom (), endExclusive - start);
 	}
 	
 	
@@ -71,7 +149,7 @@ public class Randomiser
 	 */
 	public static float randFloat()
 	{
-		return rand.nextFloat ();
+		return getRandom ().nextFloat ();
 	}
 	
 	
@@ -87,7 +165,7 @@ public class Randomiser
 	 */
 	public static float randFloatBetween(float start, float endExclusive)
 	{
-		return rand.nextFloat () * (endExclusive - start) + start;
+		return getRandom ().nextFloat () * (endExclusive - start) + start;
 	}
 	
 	
@@ -98,7 +176,7 @@ public class Randomiser
 	 */
 	public static double randDouble()
 	{
-		return rand.nextDouble ();
+		return getRandom ().nextDouble ();
 	}
 	
 	
@@ -114,7 +192,7 @@ public class Randomiser
 	 */
 	public static double randDoubleBetween(double start, double endExclusive)
 	{
-		return rand.nextDouble () * (endExclusive - start) + start;
+		return getRandom ().nextDouble () * (endExclusive - start) + start;
 	}
 	
 	
@@ -130,7 +208,7 @@ public class Randomiser
 	 */
 	public static double randNormal(double mean, double stddev)
 	{
-		return (rand.nextGaussian () * stddev) + mean;
+		return (getRandom ().nextGaussian () * stddev) + mean;
 	}
 	
 	
@@ -152,13 +230,15 @@ public class Randomiser
 	 */
 	public static boolean randBoolean()
 	{
-		return rand.nextBoolean ();
+		return getRandom ().nextBoolean ();
 	}
 	
 	
 	/**
-	 * Generates a random number between 0 and the specified maximum. This does not use the
-	 * {@link Random} class, but instead uses the {@link Math#random()} method.
+	 * Generates a random number between 0 and the specified maximum. Uses the current generator
+	 * (refer to {@link #getRandom()}) rather than the separate, shared generator of
+	 * {@link Math#random()}, and is unbiased (refer to {@link #nextInt(Random, int)}) rather than
+	 * scaling a double.
 	 * 
 	 * @param max Max number to generate, inclusive
 	 * 
@@ -166,16 +246,568 @@ public class Randomiser
 	 */
 	public static int mathRandInt(int max)
 	{
-		return (int) (Math.random () * (max + 1));
+		if (max < 0)
+			throw new IllegalArgumentException ("Max is less than 0. Max: " + max);
+		
+		return (int) nextUnsignedInt (getRandom (), (long) max + 1);
+	}
+	
+	
+	/**
+	 * Generates an unbiased random integer in range [0, bound) using Lemire's multiply-shift
+	 * method. A 32-bit random value is multiplied by the bound, and the upper 32 bits of the
+	 * product are the result. Values from the small biased region are rejected, which is rare, so
+	 * a division is almost never needed (unlike {@link Random#nextInt(int)}).
+	 * 
+	 * @param random Source of random bits
+	 * @param bound Maximum number to generate, excluding the value. Must be positive
+	 * 
+	 * @return Random integer in range [0, bound)
+	 */
+	public static int nextInt(Random random, int bound)
+	{
+		if (bound <= 0)
+			throw new IllegalArgumentException ("Bound is not positive. Bound: " + bound);
+		
+		return (int) nextUnsignedInt (random, bound);
+	}
+	
+	
+	/**
+	 * Generates an unbiased random long in range [0, bound). Refer to
+	 * {@link #nextInt(Random, int)}, using 64-bit random values and the upper 64 bits of the
+	 * 128-bit product
+	 * 
+	 * @param random Source of random bits
+	 * @param bound Maximum number to generate, excluding the value. Must be positive
+	 * 
+	 * @return Random long in range [0, bound)
+	 */
+	public static long nextLong(Random random, long bound)
+	{
+		if (bound <= 0)
+			throw new IllegalArgumentException ("Bound is not positive. Bound: " + bound);
+		
+		return nextUnsignedLong (random, bound);
+	}
+	
+	
+	/**
+	 * Lemire's method for bounds in range [1, 2^32]
+	 * 
+	 * @param random Source of random bits
+	 * @param bound Maximum number to generate, excluding the value
+	 * 
+	 * @return Random value in range [0, bound)
+	 */
+	static long nextUnsignedInt(Random random, long bound)
+	{
+		// Fits in 64 unsigned bits, as both values are at most 2^32
+		long product = (random.nextInt () & 0xFFFFFFFFL) * bound;
+		long low = product & 0xFFFFFFFFL;
+		
+		if (low < bound) {
+			// 2^32 mod bound. Products with a lower half below this are rejected
+			long threshold = ((1L << 32) - bound) % bound;
+			
+			while (low < threshold) {
+				product = (random.nextInt () & 0xFFFFFFFFL) * bound;
+				low = product & 0xFFFFFFFFL;
+			}
+		}
+		
+		return product >>> 32;
+	}
+	
+	
+	/**
+	 * Lemire's method for any unsigned 64-bit bound, except 0
+	 * 
+	 * @param random Source of random bits
+	 * @param bound Maximum number to generate, excluding the value, as an unsigned value
+	 * 
+	 * @return Random value in range [0, bound), as an unsigned value
+	 */
+	static long nextUnsignedLong(Random random, long bound)
+	{
+		long value = random.nextLong ();
+		long low = value * bound;
+		
+		if (compareUnsigned (low, bound) < 0) {
+			// 2^64 mod bound. Products with a lower half below this are rejected
+			long threshold = remainderUnsigned ( -bound, bound);
+			
+			while (compareUnsigned (low, threshold) < 0) {
+				value = random.nextLong ();
+				low = value * bound;
+			}
+		}
+		
+		return multiplyHighUnsigned (value, bound);
+	}
+	
+	
+	/**
+	 * Calculates the upper 64 bits of the unsigned 128-bit product of two values
+	 */
+	private static long multiplyHighUnsigned(long x, long y)
+	{
+		long x0 = x & 0xFFFFFFFFL;
+		long x1 = x >>> 32;
+		long y0 = y & 0xFFFFFFFFL;
+		long y1 = y >>> 32;
+		
+		long p01 = x0 * y1;
+		long p10 = x1 * y0;
+		long middle = ((x0 * y0) >>> 32) + (p01 & 0xFFFFFFFFL) + (p10 & 0xFFFFFFFFL);
+		
+		return x1 * y1 + (p01 >>> 32) + (p10 >>> 32) + (middle >>> 32);
+	}
+	
+	
+	private static int compareUnsigned(long x, long y)
+	{
+		return Long.compare (x + Long.MIN_VALUE, y + Long.MIN_VALUE);
+	}
+	
+	
+	/**
+	 * Calculates the remainder of unsigned division
+	 */
+	private static long remainderUnsigned(long dividend, long divisor)
+	{
+		if (divisor < 0) {
+			// Divisor is at least 2^63, so the quotient is 0 or 1
+			return compareUnsigned (dividend, divisor) < 0 ? dividend : dividend - divisor;
+		}
+		
+		long quotient = ((dividend >>> 1) / divisor) << 1;
+		long remainder = dividend - quotient * divisor;
+		
+		return compareUnsigned (remainder, divisor) >= 0 ? remainder - divisor : remainder;
+	}
+	
+	
+	/**
+	 * Fills an array with random doubles in range [0, 1)
+	 * 
+	 * @param values Array to fill
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 */
+	public static void fill(double[] values, boolean parallel)
+	{
+		fill (FillType.DOUBLE, values, null, 0, 1, parallel);
+	}
+	
+	
+	/**
+	 * Refer to {@link #fill(double[], boolean)}. Runs sequentially
+	 */
+	public static void fill(double[] values)
+	{
+		fill (values, false);
+	}
+	
+	
+	/**
+	 * Fills an array with random doubles in range [start, endExclusive)
+	 * 
+	 * @param values Array to fill
+	 * @param start Minimum number to generate
+	 * @param endExclusive Maximum number to generate, excluding the value
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 */
+	public static void fillBetween(double[] values, double start, double endExclusive,
+			boolean parallel)
+	{
+		fill (FillType.DOUBLE, values, null, start, endExclusive - start, parallel);
+	}
+	
+	
+	/**
+	 * Refer to {@link #fillBetween(double[], double, double, boolean)}. Runs sequentially
+	 */
+	public static void fillBetween(double[] values, double start, double endExclusive)
+	{
+		fillBetween (values, start, endExclusive, false);
+	}
+	
+	
+	/**
+	 * Fills an array with random integers in range [start, endExclusive)
+	 * 
+	 * @param values Array to fill
+	 * @param start Minimum number to generate
+	 * @param endExclusive Maximum number to generate, excluding the value
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 */
+	public static void fillBetween(int[] values, int start, int endExclusive, boolean parallel)
+	{
+		if (endExclusive <= start)
+			throw new IllegalArgumentException ("End is not more than start. Start: " + start
+					+ ", end: " + endExclusive);
+		
+		fill (FillType.INT, null, values, start, (long) endExclusive - start, parallel);
+	}
+	
+	
+	/**
+	 * Refer to {@link #fillBetween(int[], int, int, boolean)}. Runs sequentially
+	 */
+	public static void fillBetween(int[] values, int start, int endExclusive)
+	{
+		fillBetween (values, start, endExclusive, false);
+	}
+	
+	
+	/**
+	 * Creates an array of random integers in range [start, endExclusive), refer to
+	 * {@link #fillBetween(int[], int, int, boolean)}
+	 * 
+	 * @param size Number of integers
+	 * @param start Minimum number to generate
+	 * @param endExclusive Maximum number to generate, excluding the value
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 * 
+	 * @return Array of random integers
+	 */
+	public static int[] ints(int size, int start, int endExclusive, boolean parallel)
+	{
+		int[] values = new int[size];
+		fillBetween (values, start, endExclusive, parallel);
+		
+		return values;
+	}
+	
+	
+	/**
+	 * Refer to {@link #ints(int, int, int, boolean)}. Runs sequentially
+	 */
+	public static int[] ints(int size, int start, int endExclusive)
+	{
+		return ints (size, start, endExclusive, false);
+	}
+	
+	
+	/**
+	 * Fills an array with random numbers using a normal distribution, generated using
+	 * {@link Ziggurat}
+	 * 
+	 * @param values Array to fill
+	 * @param mean Mean to use for normal distribution
+	 * @param stddev Standard deviation to use for normal distribution
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 */
+	public static void fillNormal(double[] values, double mean, double stddev, boolean parallel)
+	{
+		fill (FillType.NORMAL, values, null, mean, stddev, parallel);
+	}
+	
+	
+	/**
+	 * Refer to {@link #fillNormal(double[], double, double, boolean)}. Runs sequentially
+	 */
+	public static void fillNormal(double[] values, double mean, double stddev)
+	{
+		fillNormal (values, mean, stddev, false);
+	}
+	
+	
+	/**
+	 * Fills an array in chunks, each using an independent stream seeded from the current generator
+	 * 
+	 * @param type Type of values to generate
+	 * @param doubles Array to fill, for double values
+	 * @param ints Array to fill, for integer values
+	 * @param a Offset of the values (start or mean)
+	 * @param b Scale of the values (range or standard deviation)
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 */
+	private static void fill(FillType type, double[] doubles, int[] ints, double a, double b,
+			boolean parallel)
+	{
+		int length = (doubles != null) ? doubles.length : ints.length;
+		if (length == 0)
+			return;
+		
+		FillTask task = new FillTask (type, algorithm, getRandom ().nextLong (), doubles, ints, a,
+				b, 0, (length + FILL_CHUNK_SIZE - 1) / FILL_CHUNK_SIZE);
+		
+		if (parallel && length > FILL_CHUNK_SIZE) {
+			ParallelUtils.getPool ().invoke (task);
+		} else {
+			task.fillChunks ();
+		}
+	}
+	
+	
+	/**
+	 * Gets the generator used by the current thread: the thread's own generator in thread local
+	 * mode, otherwise the shared generator. Note: thread local generators must not be shared with
+	 * other threads
+	 * 
+	 * @return Generator for the current thread
+	 */
+	public static Random getRandom()
+	{
+		if ( !threadLocalMode)
+			return rand;
+		
+		ThreadState state = getThreadState ();
+		if (state.generation != generation) {
+			state.reseed ();
+		}
+		
+		return state.random;
+	}
+	
+	
+	/**
+	 * Selects the stream used by the current thread in thread local mode, and restarts it. Threads
+	 * (or tasks) using the same base seed and stream index generate the same values.
+	 * 
+	 * @param streamIndex Index of the stream
+	 */
+	public static void setThreadStream(long streamIndex)
+	{
+		ThreadState state = getThreadState ();
+		state.streamIndex = streamIndex;
+		state.reseed ();
+	}
+	
+	
+	/**
+	 * Gets the generator and stream of the current thread, assigning the next stream index if the
+	 * thread doesn't have one
+	 */
+	private static ThreadState getThreadState()
+	{
+		ThreadState state = threadStates.get ();
+		
+		if (state == null) {
+			state = new ThreadState (nextStream.getAndIncrement ());
+			threadStates.set (state);
+		}
+		
+		return state;
+	}
+	
+	
+	/**
+	 * Derives the seed of a stream from a base seed (uses the SplitMix64 mixing function, so
+	 * consecutive stream indices give unrelated seeds)
+	 * 
+	 * @param seed Base seed
+	 * @param streamIndex Index of the stream
+	 * 
+	 * @return Seed of the stream
+	 */
+	public static long deriveSeed(long seed, long streamIndex)
+	{
+		return SplitMix64Random.mix (seed + (streamIndex + 1) * SplitMix64Random.GOLDEN_GAMMA);
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	public static boolean isThreadLocalMode()
+	{
+		return threadLocalMode;
+	}
+	
+	
+	/**
+	 * Sets if each thread uses its own generator. Thread local generators restart from their
+	 * derived seeds when the mode is enabled
+	 * 
+	 * @param threadLocalMode Boolean representing if each thread uses its own generator
+	 * 
+	 * @throws IllegalStateException If disabling thread local mode while the algorithm is not
+	 *             thread safe (refer to {@link RandomAlgorithm#isThreadSafe()})
+	 */
+	public static void setThreadLocalMode(boolean threadLocalMode)
+	{
+		if ( !threadLocalMode && !algorithm.isThreadSafe ())
+			throw new IllegalStateException ("Thread local mode is required by the algorithm. "
+					+ "Algorithm: " + algorithm);
+		
+		if (threadLocalMode) {
+			generation++;
+		}
+		
+		Randomiser.threadLocalMode = threadLocalMode;
+	}
+	
+	
+	public static RandomAlgorithm getAlgorithm()
+	{
+		return algorithm;
+	}
+	
+	
+	/**
+	 * Sets the algorithm of all generators. Thread local generators restart from their derived
+	 * seeds. If the algorithm is thread safe (refer to {@link RandomAlgorithm#isThreadSafe()}), the
+	 * shared generator is replaced with a generator seeded with the base seed, otherwise thread
+	 * local mode is enabled, so the generator is never shared between threads
+	 * 
+	 * @param algorithm Algorithm to use
+	 */
+	public static void setAlgorithm(RandomAlgorithm algorithm)
+	{
+		if (algorithm == null)
+			throw new IllegalArgumentException ("Algorithm cannot be null");
+		
+		if (algorithm.isThreadSafe ()) {
+			rand = algorithm.create (baseSeed);
+		} else {
+			threadLocalMode = true;
+		}
+		
+		Randomiser.algorithm = algorithm;
+		generation++;
 	}
 	
 	
 	// ========================== Delegate Methods ===========================
 	/**
-	 * Refer to {@link Random#setSeed(long)}
+	 * Refer to {@link Random#setSeed(long)}. Also sets the base seed of thread local generators,
+	 * which restart from their derived seeds (refer to {@link #deriveSeed(long, long)})
 	 */
 	public static void setSeed(long seed)
 	{
 		rand.setSeed (seed);
+		
+		baseSeed = seed;
+		generation++;
+	}
+	
+	
+	// ============================= Inner Types =============================
+	/**
+	 * Types of values generated by bulk fills
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	private enum FillType
+	{
+		DOUBLE,
+		INT,
+		NORMAL;
+	}
+	
+	
+	/**
+	 * Fills a range of chunks of an array, splitting the range in half until it is a single
+	 * chunk. Chunk i is generated by a stream seeded with {@link Randomiser#deriveSeed(long, long)}
+	 * of the fill's seed and i, so the values don't depend on how the work is split.
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	private static class FillTask extends RecursiveAction
+	{
+		private static final long		serialVersionUID	= 1L;
+		
+		private final FillType			type;
+		private final RandomAlgorithm	algorithm;
+		private final long				seed;
+		private final double[]			doubles;
+		private final int[]				ints;
+		private final double			a;
+		private final double			b;
+		/** First chunk, inclusive */
+		private final int				fromChunk;
+		/** Last chunk, exclusive */
+		private final int				toChunk;
+		
+		
+		private FillTask (FillType type, RandomAlgorithm algorithm, long seed, double[] doubles,
+				int[] ints, double a, double b, int fromChunk, int toChunk)
+		{
+			this.type = type;
+			this.algorithm = algorithm;
+			this.seed = seed;
+			this.doubles = doubles;
+			this.ints = ints;
+			this.a = a;
+			this.b = b;
+			this.fromChunk = fromChunk;
+			this.toChunk = toChunk;
+		}
+		
+		
+		@ Override
+		protected void compute()
+		{
+			if (toChunk - fromChunk > 1) {
+				int mid = (fromChunk + toChunk) >>> 1;
+				invokeAll (
+						new FillTask (type, algorithm, seed, doubles, ints, a, b, fromChunk, mid),
+						new FillTask (type, algorithm, seed, doubles, ints, a, b, mid, toChunk));
+			} else {
+				fillChunks ();
+			}
+		}
+		
+		
+		private void fillChunks()
+		{
+			int length = (doubles != null) ? doubles.length : ints.length;
+			
+			for (int chunk = fromChunk; chunk < toChunk; chunk++) {
+				Random random = algorithm.create (deriveSeed (seed, chunk));
+				int from = chunk * FILL_CHUNK_SIZE;
+				int to = Math.min (from + FILL_CHUNK_SIZE, length);
+				
+				switch (type) {
+					case DOUBLE:
+						for (int i = from; i < to; i++) {
+							doubles[i] = random.nextDouble () * b + a;
+						}
+						break;
+					case INT:
+						long bound = (long) b;
+						long start = (long) a;
+						for (int i = from; i < to; i++) {
+							ints[i] = (int) (start + nextUnsignedInt (random, bound));
+						}
+						break;
+					default:
+						for (int i = from; i < to; i++) {
+							doubles[i] = Ziggurat.nextGaussian (random) * b + a;
+						}
+						break;
+				}
+			}
+		}
+	}
+	
+	
+	/**
+	 * Generator and stream of a thread
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	private static class ThreadState
+	{
+		private Random			random;
+		private long			streamIndex;
+		/** Value of {@link Randomiser#generation} when last seeded */
+		private int				generation	= -1;
+		
+		
+		private ThreadState (long streamIndex)
+		{
+			this.streamIndex = streamIndex;
+		}
+		
+		
+		private void reseed()
+		{
+			generation = Randomiser.generation;
+			random = algorithm.create (deriveSeed (baseSeed, streamIndex));
+		}
 	}
 }
\ No newline at end of file
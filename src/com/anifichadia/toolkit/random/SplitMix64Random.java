@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.random;
+
+/**
+ * SplitMix64 generator (Steele, Lea and Flood). Very fast, with a single 64-bit state that is
+ * incremented by a constant, so its period is 2^64. Also used to derive well mixed seeds for other
+ * generators.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class SplitMix64Random extends FastRandom
+{
+	// ============================= Attributes ==============================
+	private static final long	serialVersionUID	= 1L;
+	
+	/** Increment of the state, the odd integer closest to 2^64 / golden ratio */
+	public static final long	GOLDEN_GAMMA		= 0x9E3779B97F4A7C15L;
+	
+	private long				state;
+	
+	
+	// ============================ Constructors =============================
+	public SplitMix64Random (long seed)
+	{
+		super (seed);
+	}
+	
+	
+	// =============================== Methods ===============================
+	@ Override
+	public long nextLong()
+	{
+		return mix (state += GOLDEN_GAMMA);
+	}
+	
+	
+	@ Override
+	protected void seedState(long seed)
+	{
+		state = seed;
+	}
+	
+	
+	/**
+	 * Creates a new generator seeded with the next value of this generator
+	 */
+	@ Override
+	public SplitMix64Random split()
+	{
+		return new SplitMix64Random (nextLong ());
+	}
+	
+	
+	/**
+	 * Mixes the bits of a value (the SplitMix64 output function)
+	 * 
+	 * @param z Value to mix
+	 * 
+	 * @return Mixed value
+	 */
+	public static long mix(long z)
+	{
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		
+		return z ^ (z >>> 31);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.random;
+
+/**
+ * xoshiro256++ generator (Blackman and Vigna). Fast, with 256 bits of state, a period of 2^256 - 1
+ * and good statistical quality. The state is initialised from the seed using
+ * {@link SplitMix64Random}. <br />
+ * <br />
+ * Supports jumping ahead by 2^128 ({@link #jump()}) and 2^192 ({@link #longJump()}) values, which
+ * gives non-overlapping streams for parallel runs that are reproducible from a single seed.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class Xoshiro256PlusPlusRandom extends FastRandom
+{
+	// ============================= Attributes ==============================
+	private static final long	serialVersionUID	= 1L;
+	
+	private static final long[]	JUMP				= {
+			0x180EC6D33CFD0ABAL, 0xD5A61266F0C9392CL, 0xA9582618E03FC9AAL, 0x39ABDC4529B1661CL};
+	private static final long[]	LONG_JUMP			= {
+			0x76E15D3EFEFDCBBFL, 0xC5004E441C522FB3L, 0x77710069854EE241L, 0x39109BB02ACBE635L};
+	
+	private long				s0;
+	private long				s1;
+	private long				s2;
+	private long				s3;
+	
+	
+	// ============================ Constructors =============================
+	public Xoshiro256PlusPlusRandom (long seed)
+	{
+		super (seed);
+	}
+	
+	
+	/**
+	 * Creates a copy of a generator, which generates the same sequence
+	 * 
+	 * @param other Generator to copy
+	 */
+	public Xoshiro256PlusPlusRandom (Xoshiro256PlusPlusRandom other)
+	{
+		super (0);
+		
+		s0 = other.s0;
+		s1 = other.s1;
+		s2 = other.s2;
+		s3 = other.s3;
+	}
+	
+	
+	// =============================== Methods ===============================
+	@ Override
+	public long nextLong()
+	{
+		long result = Long.rotateLeft (s0 + s3, 23) + s0;
+		
+		long t = s1 << 17;
+		s2 ^= s0;
+		s3 ^= s1;
+		s1 ^= s2;
+		s0 ^= s3;
+		s2 ^= t;
+		s3 = Long.rotateLeft (s3, 45);
+		
+		return result;
+	}
+	
+	
+	@ Override
+	protected void seedState(long seed)
+	{
+		SplitMix64Random seeder = new SplitMix64Random (seed);
+		
+		s0 = seeder.nextLong ();
+		s1 = seeder.nextLong ();
+		s2 = seeder.nextLong ();
+		s3 = seeder.nextLong ();
+	}
+	
+	
+	/**
+	 * Advances the generator by 2^128 values. Can be used to create 2^128 non-overlapping streams
+	 */
+	public void jump()
+	{
+		jump (JUMP);
+	}
+	
+	
+	/**
+	 * Advances the generator by 2^192 values. Can be used to create 2^64 starting points, each of
+	 * which can be split into streams using {@link #jump()}
+	 */
+	public void longJump()
+	{
+		jump (LONG_JUMP);
+	}
+	
+	
+	private void jump(long[] polynomial)
+	{
+		long t0 = 0;
+		long t1 = 0;
+		long t2 = 0;
+		long t3 = 0;
+		
+		for (long word : polynomial) {
+			for (int b = 0; b < 64; b++) {
+				if ((word & (1L << b)) != 0) {
+					t0 ^= s0;
+					t1 ^= s1;
+					t2 ^= s2;
+					t3 ^= s3;
+				}
+				nextLong ();
+			}
+		}
+		
+		s0 = t0;
+		s1 = t1;
+		s2 = t2;
+		s3 = t3;
+	}
+	
+	
+	/**
+	 * Creates a new generator that continues the current sequence, then jumps this generator ahead
+	 * by 2^128 values (refer to {@link #jump()}). Repeated splits give non-overlapping streams
+	 */
+	@ Override
+	public Xoshiro256PlusPlusRandom split()
+	{
+		Xoshiro256PlusPlusRandom copy = new Xoshiro256PlusPlusRandom (this);
+		jump ();
+		
+		return copy;
+	}
+}
\ No newline at end of file
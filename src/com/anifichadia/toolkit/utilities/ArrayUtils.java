@@ -20,6 +20,13 @@
 
 package com.anifichadia.toolkit.utilities;
 
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.RecursiveAction;
+
+import com.anifichadia.toolkit.random.RandomAlgorithm;
+import com.anifichadia.toolkit.random.Randomiser;
+
 /**
  * A collection of various array utility methods
  * 
@@ -28,6 +35,17 @@ package com.anifichadia.toolkit.utilities;
  */
 public class ArrayUtils
 {
+	/** Minimum array length for shuffles to run in parallel */
+	public static final int	PARALLEL_SHUFFLE_THRESHOLD	= 1 << 18;
+	/** Number of elements per chunk (and the average per bucket) of a parallel shuffle */
+	public static final int	SHUFFLE_CHUNK_SIZE			= 1 << 16;
+	/**
+	 * Maximum number of chunks (and buckets) of each level of a parallel shuffle, which limits the
+	 * table of bucket sizes per chunk to MAX_SHUFFLE_BUCKETS^2 values
+	 */
+	public static final int	MAX_SHUFFLE_BUCKETS			= 1 << 8;
+	
+	
 	/**
 	 * Excludes an element from a provided array and returns a copy without the element.
 	 * 
@@ -47,4 +65,775 @@ public class ArrayUtils
 		
 		return temp;
 	}
+	
+	
+	/**
+	 * Excludes all elements at the indices set in a bit mask and returns a copy without them, in
+	 * a single pass
+	 * 
+	 * @param src Source array to exclude from
+	 * @param excluded Indices to exclude from src. Indices past the end of src are ignored
+	 * 
+	 * @return (New) array without the excluded elements
+	 */
+	public static int[] arrayExclude(int[] src, BitSet excluded)
+	{
+		int excludedCount = excluded.get (0, src.length).cardinality ();
+		int[] temp = new int[src.length - excludedCount];
+		
+		// Copy the runs of kept elements between excluded elements
+		int destIndex = 0;
+		int keepStart = excluded.nextClearBit (0);
+		while (keepStart < src.length) {
+			int keepEnd = excluded.nextSetBit (keepStart);
+			if (keepEnd < 0 || keepEnd > src.length) {
+				keepEnd = src.length;
+			}
+			
+			System.arraycopy (src, keepStart, temp, destIndex, keepEnd - keepStart);
+			destIndex += keepEnd - keepStart;
+			
+			keepStart = excluded.nextClearBit (keepEnd);
+		}
+		
+		return temp;
+	}
+	
+	
+	/**
+	 * Excludes all elements at a set of indices and returns a copy without them. Refer to
+	 * {@link #arrayExclude(int[], BitSet)}
+	 * 
+	 * @param src Source array to exclude from
+	 * @param excludeIndices Indices to exclude from src, in any order. Duplicates are allowed
+	 * 
+	 * @return (New) array without the excluded elements
+	 */
+	public static int[] arrayExclude(int[] src, int[] excludeIndices)
+	{
+		return arrayExclude (src, toBitSet (src.length, excludeIndices));
+	}
+	
+	
+	/**
+	 * Removes all elements at the indices set in a bit mask in place, moving the kept elements to
+	 * the start of the array (in their original order), in a single pass
+	 * 
+	 * @param array Array to compact
+	 * @param size Number of valid elements, starting at index 0
+	 * @param excluded Indices to remove
+	 * 
+	 * @return Number of elements kept
+	 */
+	public static int arrayCompact(int[] array, int size, BitSet excluded)
+	{
+		int destIndex = excluded.nextSetBit (0);
+		if (destIndex < 0 || destIndex >= size)
+			return size;
+		
+		for (int i = destIndex + 1; i < size; i++) {
+			if ( !excluded.get (i)) {
+				array[destIndex++] = array[i];
+			}
+		}
+		
+		return destIndex;
+	}
+	
+	
+	/**
+	 * Creates a view of a range of an array, refer to {@link IntSlice}
+	 * 
+	 * @param array Underlying array
+	 * @param from Start index, inclusive
+	 * @param to End index, exclusive
+	 * 
+	 * @return View of the range
+	 */
+	public static IntSlice slice(int[] array, int from, int to)
+	{
+		return new IntSlice (array, from, to - from);
+	}
+	
+	
+	/**
+	 * Excludes all elements at the indices set in a bit mask and returns a copy without them, in
+	 * a single pass
+	 * 
+	 * @param src Source array to exclude from
+	 * @param excluded Indices to exclude from src. Indices past the end of src are ignored
+	 * 
+	 * @return (New) array without the excluded elements
+	 */
+	public static long[] arrayExclude(long[] src, BitSet excluded)
+	{
+		int excludedCount = excluded.get (0, src.length).cardinality ();
+		long[] temp = new long[src.length - excludedCount];
+		
+		// Copy the runs of kept elements between excluded elements
+		int destIndex = 0;
+		int keepStart = excluded.nextClearBit (0);
+		while (keepStart < src.length) {
+			int keepEnd = excluded.nextSetBit (keepStart);
+			if (keepEnd < 0 || keepEnd > src.length) {
+				keepEnd = src.length;
+			}
+			
+			System.arraycopy (src, keepStart, temp, destIndex, keepEnd - keepStart);
+			destIndex += keepEnd - keepStart;
+			
+			keepStart = excluded.nextClearBit (keepEnd);
+		}
+		
+		return temp;
+	}
+	
+	
+	/**
+	 * Excludes all elements at a set of indices and returns a copy without them. Refer to
+	 * {@link #arrayExclude(long[], BitSet)}
+	 * 
+	 * @param src Source array to exclude from
+	 * @param excludeIndices Indices to exclude from src, in any order. Duplicates are allowed
+	 * 
+	 * @return (New) array without the excluded elements
+	 */
+	public static long[] arrayExclude(long[] src, int[] excludeIndices)
+	{
+		return arrayExclude (src, toBitSet (src.length, excludeIndices));
+	}
+	
+	
+	/**
+	 * Removes all elements at the indices set in a bit mask in place, moving the kept elements to
+	 * the start of the array (in their original order), in a single pass
+	 * 
+	 * @param array Array to compact
+	 * @param size Number of valid elements, starting at index 0
+	 * @param excluded Indices to remove
+	 * 
+	 * @return Number of elements kept
+	 */
+	public static int arrayCompact(long[] array, int size, BitSet excluded)
+	{
+		int destIndex = excluded.nextSetBit (0);
+		if (destIndex < 0 || destIndex >= size)
+			return size;
+		
+		for (int i = destIndex + 1; i < size; i++) {
+			if ( !excluded.get (i)) {
+				array[destIndex++] = array[i];
+			}
+		}
+		
+		return destIndex;
+	}
+	
+	
+	/**
+	 * Creates a view of a range of an array, refer to {@link LongSlice}
+	 * 
+	 * @param array Underlying array
+	 * @param from Start index, inclusive
+	 * @param to End index, exclusive
+	 * 
+	 * @return View of the range
+	 */
+	public static LongSlice slice(long[] array, int from, int to)
+	{
+		return new LongSlice (array, from, to - from);
+	}
+	
+	
+	/**
+	 * Excludes all elements at the indices set in a bit mask and returns a copy without them, in
+	 * a single pass
+	 * 
+	 * @param src Source array to exclude from
+	 * @param excluded Indices to exclude from src. Indices past the end of src are ignored
+	 * 
+	 * @return (New) array without the excluded elements
+	 */
+	public static double[] arrayExclude(double[] src, BitSet excluded)
+	{
+		int excludedCount = excluded.get (0, src.length).cardinality ();
+		double[] temp = new double[src.length - excludedCount];
+		
+		// Copy the runs of kept elements between excluded elements
+		int destIndex = 0;
+		int keepStart = excluded.nextClearBit (0);
+		while (keepStart < src.length) {
+			int keepEnd = excluded.nextSetBit (keepStart);
+			if (keepEnd < 0 || keepEnd > src.length) {
+				keepEnd = src.length;
+			}
+			
+			System.arraycopy (src, keepStart, temp, destIndex, keepEnd - keepStart);
+			destIndex += keepEnd - keepStart;
+			
+			keepStart = excluded.nextClearBit (keepEnd);
+		}
+		
+		return temp;
+	}
+	
+	
+	/**
+	 * Excludes all elements at a set of indices and returns a copy without them. Refer to
+	 * {@link #arrayExclude(double[], BitSet)}
+	 * 
+	 * @param src Source array to exclude from
+	 * @param excludeIndices Indices to exclude from src, in any order. Duplicates are allowed
+	 * 
+	 * @return (New) array without the excluded elements
+	 */
+	public static double[] arrayExclude(double[] src, int[] excludeIndices)
+	{
+		return arrayExclude (src, toBitSet (src.length, excludeIndices));
+	}
+	
+	
+	/**
+	 * Removes all elements at the indices set in a bit mask in place, moving the kept elements to
+	 * the start of the array (in their original order), in a single pass
+	 * 
+	 * @param array Array to compact
+	 * @param size Number of valid elements, starting at index 0
+	 * @param excluded Indices to remove
+	 * 
+	 * @return Number of elements kept
+	 */
+	public static int arrayCompact(double[] array, int size, BitSet excluded)
+	{
+		int destIndex = excluded.nextSetBit (0);
+		if (destIndex < 0 || destIndex >= size)
+			return size;
+		
+		for (int i = destIndex + 1; i < size; i++) {
+			if ( !excluded.get (i)) {
+				array[destIndex++] = array[i];
+			}
+		}
+		
+		return destIndex;
+	}
+	
+	
+	/**
+	 * Creates a view of a range of an array, refer to {@link DoubleSlice}
+	 * 
+	 * @param array Underlying array
+	 * @param from Start index, inclusive
+	 * @param to End index, exclusive
+	 * 
+	 * @return View of the range
+	 */
+	public static DoubleSlice slice(double[] array, int from, int to)
+	{
+		return new DoubleSlice (array, from, to - from);
+	}
+	
+	
+	/**
+	 * Converts a set of indices into a bit mask
+	 * 
+	 * @param length Length of the array the indices are for
+	 * @param indices Indices to set, in range [0, length)
+	 * 
+	 * @return Bit mask with the indices set
+	 */
+	public static BitSet toBitSet(int length, int[] indices)
+	{
+		BitSet bits = new BitSet (length);
+		
+		for (int index : indices) {
+			if (index < 0 || index >= length)
+				throw new IndexOutOfBoundsException ("Index: " + index + ", Length: " + length);
+			
+			bits.set (index);
+		}
+		
+		return bits;
+	}
+	
+	
+	/**
+	 * Shuffles an array in place using the Fisher-Yates shuffle, which is O(n) and gives every
+	 * permutation with equal probability
+	 * 
+	 * @param array Array to shuffle
+	 * @param random Source of random numbers
+	 */
+	public static <T> void shuffle(T[] array, Random random)
+	{
+		for (int i = array.length - 1; i > 0; i--) {
+			int j = Randomiser.nextInt (random, i + 1);
+			T temp = array[i];
+			array[i] = array[j];
+			array[j] = temp;
+		}
+	}
+	
+	
+	/**
+	 * Refer to {@link #shuffle(Object[], Random)}. Uses {@link Randomiser#getRandom()}
+	 */
+	public static <T> void shuffle(T[] array)
+	{
+		shuffle (array, Randomiser.getRandom ());
+	}
+	
+	
+	/**
+	 * Shuffles an array in place. Large arrays can be shuffled in parallel, refer to
+	 * {@link #shuffle(int[], Random, boolean)}, by shuffling a permutation of the indices. <br />
+	 * <br />
+	 * Note: the parallel shuffle uses O(n) extra memory, a copy of the array and three int arrays
+	 * of the same length.
+	 * 
+	 * @param array Array to shuffle
+	 * @param random Source of random numbers
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 */
+	public static <T> void shuffle(T[] array, Random random, boolean parallel)
+	{
+		if (parallel && array.length >= PARALLEL_SHUFFLE_THRESHOLD) {
+			int[] permutation = parallelPermutation (array.length, random);
+			T[] copy = array.clone ();
+			for (int i = 0; i < array.length; i++) {
+				array[i] = copy[permutation[i]];
+			}
+		} else {
+			shuffle (array, random);
+		}
+	}
+	
+	
+	/**
+	 * Shuffles an array in place using the Fisher-Yates shuffle, which is O(n) and gives every
+	 * permutation with equal probability
+	 * 
+	 * @param array Array to shuffle
+	 * @param random Source of random numbers
+	 */
+	public static void shuffle(int[] array, Random random)
+	{
+		shuffle (array, 0, array.length, random);
+	}
+	
+	
+	/**
+	 * Refer to {@link #shuffle(int[], Random)}. Uses {@link Randomiser#getRandom()}
+	 */
+	public static void shuffle(int[] array)
+	{
+		shuffle (array, Randomiser.getRandom ());
+	}
+	
+	
+	/**
+	 * Shuffles a range of an array in place using the Fisher-Yates shuffle
+	 * 
+	 * @param array Array to shuffle
+	 * @param from Start index, inclusive
+	 * @param to End index, exclusive
+	 * @param random Source of random numbers
+	 */
+	public static void shuffle(int[] array, int from, int to, Random random)
+	{
+		for (int i = to - 1; i > from; i--) {
+			int j = from + Randomiser.nextInt (random, i - from + 1);
+			int temp = array[i];
+			array[i] = array[j];
+			array[j] = temp;
+		}
+	}
+	
+	
+	/**
+	 * Shuffles an array in place, optionally in parallel. The parallel shuffle scatters each
+	 * element into a random bucket (one bucket per {@link #SHUFFLE_CHUNK_SIZE} elements, up to
+	 * {@link #MAX_SHUFFLE_BUCKETS}), then shuffles each bucket using Fisher-Yates. Buckets that are
+	 * too large to fit in cache are shuffled in parallel in the same way. This also gives every
+	 * permutation with equal probability. Each chunk and bucket uses an independent stream seeded
+	 * from random, so the result is the same regardless of the number of threads. <br />
+	 * <br />
+	 * Note: the parallel shuffle uses O(n) extra memory, two temporary int arrays of the same
+	 * length as the array.
+	 * 
+	 * @param array Array to shuffle
+	 * @param random Source of random numbers
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 */
+	public static void shuffle(int[] array, Random random, boolean parallel)
+	{
+		if ( !parallel || array.length < PARALLEL_SHUFFLE_THRESHOLD) {
+			shuffle (array, random);
+			return;
+		}
+		
+		int length = array.length;
+		
+		ParallelUtils.getPool ().invoke (
+				new ShuffleRangeTask (array, new int[length], new int[length], 0, length, random
+						.nextLong (), Randomiser.getAlgorithm ()));
+	}
+	
+	
+	/**
+	 * Creates a random permutation of [0, length) using a parallel shuffle
+	 */
+	private static int[] parallelPermutation(int length, Random random)
+	{
+		int[] permutation = new int[length];
+		for (int i = 0; i < length; i++) {
+			permutation[i] = i;
+		}
+		
+		shuffle (permutation, random, true);
+		
+		return permutation;
+	}
+	
+	
+	/**
+	 * Shuffles an array in place using the Fisher-Yates shuffle, which is O(n) and gives every
+	 * permutation with equal probability
+	 * 
+	 * @param array Array to shuffle
+	 * @param random Source of random numbers
+	 */
+	public static void shuffle(long[] array, Random random)
+	{
+		shuffle (array, 0, array.length, random);
+	}
+	
+	
+	/**
+	 * Refer to {@link #shuffle(long[], Random)}. Uses {@link Randomiser#getRandom()}
+	 */
+	public static void shuffle(long[] array)
+	{
+		shuffle (array, Randomiser.getRandom ());
+	}
+	
+	
+	/**
+	 * Shuffles a range of an array in place using the Fisher-Yates shuffle
+	 * 
+	 * @param array Array to shuffle
+	 * @param from Start index, inclusive
+	 * @param to End index, exclusive
+	 * @param random Source of random numbers
+	 */
+	public static void shuffle(long[] array, int from, int to, Random random)
+	{
+		for (int i = to - 1; i > from; i--) {
+			int j = from + Randomiser.nextInt (random, i - from + 1);
+			long temp = array[i];
+			array[i] = array[j];
+			array[j] = temp;
+		}
+	}
+	
+	
+	/**
+	 * Shuffles an array in place. Large arrays can be shuffled in parallel, refer to
+	 * {@link #shuffle(int[], Random, boolean)}, by shuffling a permutation of the indices. <br />
+	 * <br />
+	 * Note: the parallel shuffle uses O(n) extra memory, a copy of the array and three int arrays
+	 * of the same length.
+	 * 
+	 * @param array Array to shuffle
+	 * @param random Source of random numbers
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 */
+	public static void shuffle(long[] array, Random random, boolean parallel)
+	{
+		if (parallel && array.length >= PARALLEL_SHUFFLE_THRESHOLD) {
+			int[] permutation = parallelPermutation (array.length, random);
+			long[] copy = array.clone ();
+			for (int i = 0; i < array.length; i++) {
+				array[i] = copy[permutation[i]];
+			}
+		} else {
+			shuffle (array, random);
+		}
+	}
+	
+	
+	/**
+	 * Shuffles an array in place using the Fisher-Yates shuffle, which is O(n) and gives every
+	 * permutation with equal probability
+	 * 
+	 * @param array Array to shuffle
+	 * @param random Source of random numbers
+	 */
+	public static void shuffle(double[] array, Random random)
+	{
+		shuffle (array, 0, array.length, random);
+	}
+	
+	
+	/**
+	 * Refer to {@link #shuffle(double[], Random)}. Uses {@link Randomiser#getRandom()}
+	 */
+	public static void shuffle(double[] array)
+	{
+		shuffle (array, Randomiser.getRandom ());
+	}
+	
+	
+	/**
+	 * Shuffles a range of an array in place using the Fisher-Yates shuffle
+	 * 
+	 * @param array Array to shuffle
+	 * @param from Start index, inclusive
+	 * @param to End index, exclusive
+	 * @param random Source of random numbers
+	 */
+	public static void shuffle(double[] array, int from, int to, Random random)
+	{
+		for (int i = to - 1; i > from; i--) {
+			int j = from + Randomiser.nextInt (random, i - from + 1);
+			double temp = array[i];
+			array[i] = array[j];
+			array[j] = temp;
+		}
+	}
+	
+	
+	/**
+	 * Shuffles an array in place. Large arrays can be shuffled in parallel, refer to
+	 * {@link #shuffle(int[], Random, boolean)}, by shuffling a permutation of the indices. <br />
+	 * <br />
+	 * Note: the parallel shuffle uses O(n) extra memory, a copy of the array and three int arrays
+	 * of the same length.
+	 * 
+	 * @param array Array to shuffle
+	 * @param random Source of random numbers
+	 * @param parallel Boolean representing if the operation should run in parallel
+	 */
+	public static void shuffle(double[] array, Random random, boolean parallel)
+	{
+		if (parallel && array.length >= PARALLEL_SHUFFLE_THRESHOLD) {
+			int[] permutation = parallelPermutation (array.length, random);
+			double[] copy = array.clone ();
+			for (int i = 0; i < array.length; i++) {
+				array[i] = copy[permutation[i]];
+			}
+		} else {
+			shuffle (array, random);
+		}
+	}
+	
+	
+	// ============================= Inner Types =============================
+	/**
+	 * Phases of a parallel shuffle
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	private enum ShufflePhase
+	{
+		/** Assign each element of a chunk a random bucket */
+		ASSIGN,
+		/** Move each element of a chunk into its bucket */
+		SCATTER,
+		/** Copy a bucket back and shuffle it */
+		SHUFFLE;
+	}
+	
+	
+	/**
+	 * State shared by the tasks of one level of a parallel shuffle of a range of an array
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	private static class ShuffleState
+	{
+		private final int[]				array;
+		/** Temporary array the elements are scattered into, only the range is used */
+		private final int[]				scattered;
+		/** Bucket of each element, only the range is used */
+		private final int[]				buckets;
+		/** Start of the range, inclusive */
+		private final int				from;
+		/** End of the range, exclusive */
+		private final int				to;
+		private final int				chunkSize;
+		/** Number of chunks, and the number of buckets */
+		private final int				numChunks;
+		/** Bucket sizes per chunk, then the next write position of each chunk in each bucket */
+		private final int[][]			offsets;
+		/** Start of each bucket in scattered, plus the end of the last bucket */
+		private final int[]				bucketStarts;
+		private final long				seed;
+		private final RandomAlgorithm	algorithm;
+		
+		
+		private ShuffleState (int[] array, int[] scattered, int[] buckets, int from, int to,
+				long seed, RandomAlgorithm algorithm)
+		{
+			this.array = array;
+			this.scattered = scattered;
+			this.buckets = buckets;
+			this.from = from;
+			this.to = to;
+			this.seed = seed;
+			this.algorithm = algorithm;
+			
+			int length = to - from;
+			numChunks = Math.min ((length + SHUFFLE_CHUNK_SIZE - 1) / SHUFFLE_CHUNK_SIZE,
+					MAX_SHUFFLE_BUCKETS);
+			chunkSize = (length + numChunks - 1) / numChunks;
+			
+			offsets = new int[numChunks][numChunks];
+			bucketStarts = new int[numChunks + 1];
+		}
+		
+		
+		/**
+		 * Converts the bucket sizes per chunk into where each chunk writes into each bucket
+		 */
+		private void calculateOffsets()
+		{
+			int offset = from;
+			for (int bucket = 0; bucket < numChunks; bucket++) {
+				bucketStarts[bucket] = offset;
+				for (int chunk = 0; chunk < numChunks; chunk++) {
+					int count = offsets[chunk][bucket];
+					offsets[chunk][bucket] = offset;
+					offset += count;
+				}
+			}
+			bucketStarts[numChunks] = to;
+		}
+		
+		
+		/**
+		 * Derives the seed of an independent stream for a chunk (streams [0, numChunks)) or a
+		 * bucket (streams [numChunks, 2 * numChunks))
+		 */
+		private long deriveSeed(int stream)
+		{
+			return Randomiser.deriveSeed (seed, stream);
+		}
+	}
+	
+	
+	/**
+	 * Runs all phases of one level of a parallel shuffle of a range of an array
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	private static class ShuffleRangeTask extends RecursiveAction
+	{
+		private static final long	serialVersionUID	= 1L;
+		
+		private final ShuffleState	state;
+		
+		
+		private ShuffleRangeTask (int[] array, int[] scattered, int[] buckets, int from, int to,
+				long seed, RandomAlgorithm algorithm)
+		{
+			state = new ShuffleState (array, scattered, buckets, from, to, seed, algorithm);
+		}
+		
+		
+		@ Override
+		protected void compute()
+		{
+			int numChunks = state.numChunks;
+			
+			// Assign each element a bucket, counting bucket sizes per chunk
+			new ShuffleTask (state, ShufflePhase.ASSIGN, 0, numChunks).invoke ();
+			
+			state.calculateOffsets ();
+			
+			new ShuffleTask (state, ShufflePhase.SCATTER, 0, numChunks).invoke ();
+			new ShuffleTask (state, ShufflePhase.SHUFFLE, 0, numChunks).invoke ();
+		}
+	}
+	
+	
+	/**
+	 * Runs a phase of a parallel shuffle over a range of chunks or buckets, splitting the range in
+	 * half until it is a single chunk or bucket
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	private static class ShuffleTask extends RecursiveAction
+	{
+		private static final long		serialVersionUID	= 1L;
+		
+		private final ShuffleState		state;
+		private final ShufflePhase		phase;
+		private final int				from;
+		private final int				to;
+		
+		
+		private ShuffleTask (ShuffleState state, ShufflePhase phase, int from, int to)
+		{
+			this.state = state;
+			this.phase = phase;
+			this.from = from;
+			this.to = to;
+		}
+		
+		
+		@ Override
+		protected void compute()
+		{
+			if (to - from > 1) {
+				int mid = (from + to) >>> 1;
+				invokeAll (new ShuffleTask (state, phase, from, mid),
+						new ShuffleTask (state, phase, mid, to));
+				return;
+			}
+			
+			int index = from;
+			int chunkStart = state.from + index * state.chunkSize;
+			int chunkEnd = Math.min (chunkStart + state.chunkSize, state.to);
+			int[] offsets = state.offsets[index];
+			
+			switch (phase) {
+				case ASSIGN:
+					Random random = state.algorithm.create (state.deriveSeed (index));
+					for (int i = chunkStart; i < chunkEnd; i++) {
+						int bucket = Randomiser.nextInt (random, state.numChunks);
+						state.buckets[i] = bucket;
+						offsets[bucket]++;
+					}
+					break;
+				case SCATTER:
+					for (int i = chunkStart; i < chunkEnd; i++) {
+						state.scattered[offsets[state.buckets[i]]++] = state.array[i];
+					}
+					break;
+				default:
+					int bucketStart = state.bucketStarts[index];
+					int bucketEnd = state.bucketStarts[index + 1];
+					long seed = state.deriveSeed (state.numChunks + index);
+					
+					System.arraycopy (state.scattered, bucketStart, state.array, bucketStart,
+							bucketEnd - bucketStart);
+					
+					if (bucketEnd - bucketStart >= PARALLEL_SHUFFLE_THRESHOLD) {
+						// Too large for the cache, shuffle the bucket in parallel. The bucket's
+						// range of the temporary arrays is no longer used, so it can be reused
+						new ShuffleRangeTask (state.array, state.scattered, state.buckets,
+								bucketStart, bucketEnd, seed, state.algorithm).invoke ();
+					} else {
+						shuffle (state.array, bucketStart, bucketEnd, state.algorithm
+								.create (seed));
+					}
+					break;
+			}
+		}
+	}
 }
\ No newline at end of file
@@ -21,7 +21,13 @@
 package com.anifichadia.toolkit.utilities;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.RandomAccess;
 
 import com.anifichadia.toolkit.random.Randomiser;
 
@@ -33,6 +39,64 @@ import com.anifichadia.toolkit.random.Randomiser;
  */
 public class CollectionUtils
 {
+	/**
+	 * Shuffles a list in place using the Fisher-Yates shuffle, which is O(n) and gives every
+	 * permutation with equal probability. Lists without fast random access (eg. LinkedList) are
+	 * copied to an array, shuffled and written back, so they are also O(n).
+	 * 
+	 * @param list List to shuffle
+	 * @param random Source of random numbers
+	 */
+	public static <T> void shuffle(List<T> list, Random random)
+	{
+		int size = list.size ();
+		
+		if (list instanceof RandomAccess) {
+			for (int i = size - 1; i > 0; i--) {
+				int j = Randomiser.nextInt (random, i + 1);
+				list.set (i, list.set (j, list.get (i)));
+			}
+		} else {
+			@ SuppressWarnings ("unchecked")
+			T[] array = (T[]) list.toArray ();
+			ArrayUtils.shuffle (array, random);
+			
+			ListIterator<T> iterator = list.listIterator ();
+			for (T element : array) {
+				iterator.next ();
+				iterator.set (element);
+			}
+		}
+	}
+	
+	
+	/**
+	 * Refer to {@link #shuffle(List, Random)}. Uses {@link Randomiser#getRandom()}
+	 */
+	public static <T> void shuffle(List<T> list)
+	{
+		shuffle (list, Randomiser.getRandom ());
+	}
+	
+	
+	/**
+	 * Generates and returns a shuffled version of a collection without disturbing its order. Refer
+	 * to {@link #shuffle(List, Random)}
+	 * 
+	 * @param original Collection to shuffle
+	 * @param random Source of random numbers
+	 * 
+	 * @return A shuffled copy of the original collection
+	 */
+	public static <T> Collection<T> shuffleCopyOfCollection(Collection<T> original, Random random)
+	{
+		ArrayList<T> shuffled = new ArrayList<> (original);
+		shuffle (shuffled, random);
+		
+		return shuffled;
+	}
+	
+	
 	/**
 	 * Generates and returns a shuffled version of a collection without disturbing its order.
 	 * 
@@ -42,15 +106,27 @@ public class CollectionUtils
 	 */
 	public static <T> Collection<T> shuffleCopyOfCollection(Collection<T> original)
 	{
-		ArrayList<T> shuffled = new ArrayList<> ();
-		
-		ArrayList<T> originalCopy = new ArrayList<> (original);
-		while ( !originalCopy.isEmpty ()) {
-			int next = Randomiser.randIntBetween (0, originalCopy.size ());
-			shuffled.add (originalCopy.remove (next));
+		return shuffleCopyOfCollection (original, Randomiser.getRandom ());
+	}
+	
+	
+	/**
+	 * Generates a shuffled version of a collection. Note: order of the original collection is
+	 * disturbed. Lists are shuffled in place, other collections are replaced with a shuffled copy
+	 * of their elements.
+	 * 
+	 * @param original Collection to shuffle
+	 * @param random Source of random numbers
+	 */
+	public static <T> void shuffleCollection(Collection<T> original, Random random)
+	{
+		if (original instanceof List) {
+			shuffle ((List<T>) original, random);
+		} else {
+			Collection<T> shuffled = CollectionUtils.shuffleCopyOfCollection (original, random);
+			original.clear ();
+			original.addAll (shuffled);
 		}
-		
-		return shuffled;
 	}
 	
 	
@@ -62,8 +138,270 @@ public class CollectionUtils
 	 */
 	public static <T> void shuffleCollection(Collection<T> original)
 	{
-		Collection<T> shuffled = CollectionUtils.shuffleCopyOfCollection (original);
-		original.clear ();
-		original.addAll (shuffled);
+		shuffleCollection (original, Randomiser.getRandom ());
+	}
+	
+	
+	/**
+	 * Selects k random elements, without replacement, from a sequence of unknown length in a single
+	 * pass (reservoir sampling). Uses Li's Algorithm L, which calculates how many elements to skip
+	 * between replacements, so only O(k * (1 + log(n / k))) random numbers are generated. Uses
+	 * O(min(k, n)) memory.
+	 * 
+	 * @param iterator Elements to sample from
+	 * @param k Number of elements to select
+	 * @param random Source of random numbers
+	 * 
+	 * @return List of k elements (or all elements if there are fewer than k) in random order
+	 */
+	public static <T> List<T> sample(Iterator<? extends T> iterator, int k, Random random)
+	{
+		if (k < 0)
+			throw new IllegalArgumentException ("k is less than 0. k: " + k);
+		
+		// Grows up to k, so a large k doesn't allocate more than the number of elements
+		ArrayList<T> reservoir = new ArrayList<> (Math.min (k, 16));
+		while (reservoir.size () < k && iterator.hasNext ()) {
+			reservoir.add (iterator.next ());
+		}
+		
+		if (reservoir.size () == k && k > 0) {
+			double w = Math.exp (Math.log (nextOpenDouble (random)) / k);
+			
+			while (true) {
+				// Number of elements to skip before the next replacement
+				double skip = Math.floor (Math.log (nextOpenDouble (random)) / Math.log1p ( -w));
+				
+				for (double i = 0; i < skip && iterator.hasNext (); i++) {
+					iterator.next ();
+				}
+				
+				if ( !iterator.hasNext ()) {
+					break;
+				}
+				
+				reservoir.set (Randomiser.nextInt (random, k), iterator.next ());
+				w *= Math.exp (Math.log (nextOpenDouble (random)) / k);
+			}
+		}
+		
+		// The first elements are in their original order, so shuffle them
+		shuffle (reservoir, random);
+		
+		return reservoir;
+	}
+	
+	
+	/**
+	 * Refer to {@link #sample(Iterator, int, Random)}
+	 */
+	public static <T> List<T> sample(Iterable<? extends T> iterable, int k, Random random)
+	{
+		return sample (iterable.iterator (), k, random);
+	}
+	
+	
+	/**
+	 * Refer to {@link #sample(Iterator, int, Random)}. Uses {@link Randomiser#getRandom()}
+	 */
+	public static <T> List<T> sample(Iterable<? extends T> iterable, int k)
+	{
+		return sample (iterable.iterator (), k, Randomiser.getRandom ());
+	}
+	
+	
+	/**
+	 * Selects k random elements, without replacement, where the probability of selecting each
+	 * element is proportional to its weight, in a single pass. Uses the A-Res algorithm of
+	 * Efraimidis and Spirakis: each element gets the key u^(1 / weight) for a uniform random u,
+	 * and the k elements with the largest keys are kept in a heap. Uses O(min(k, n)) memory.
+	 * 
+	 * @param iterator Elements to sample from
+	 * @param k Number of elements to select
+	 * @param weigher Calculates the weight of each element. Elements with a weight of 0 are never
+	 *            selected
+	 * @param random Source of random numbers
+	 * 
+	 * @return List of k elements (or all elements with a positive weight if there are fewer than
+	 *         k), in order of decreasing key
+	 */
+	public static <T> List<T> sampleWeighted(Iterator<? extends T> iterator, int k,
+			Weigher<? super T> weigher, Random random)
+	{
+		if (k < 0)
+			throw new IllegalArgumentException ("k is less than 0. k: " + k);
+		
+		WeightedReservoir<T> reservoir = new WeightedReservoir<> (k);
+		while (iterator.hasNext ()) {
+			T element = iterator.next ();
+			reservoir.offer (element, weigher.weigh (element), random);
+		}
+		
+		return reservoir.toList ();
+	}
+	
+	
+	/**
+	 * Refer to {@link #sampleWeighted(Iterator, int, Weigher, Random)}
+	 */
+	public static <T> List<T> sampleWeighted(Iterable<? extends T> iterable, int k,
+			Weigher<? super T> weigher, Random random)
+	{
+		return sampleWeighted (iterable.iterator (), k, weigher, random);
+	}
+	
+	
+	/**
+	 * Refer to {@link #sampleWeighted(Iterator, int, Weigher, Random)}. Uses
+	 * {@link Randomiser#getRandom()}
+	 */
+	public static <T> List<T> sampleWeighted(Iterable<? extends T> iterable, int k,
+			Weigher<? super T> weigher)
+	{
+		return sampleWeighted (iterable.iterator (), k, weigher, Randomiser.getRandom ());
+	}
+	
+	
+	/**
+	 * Generates a random double in range (0, 1], which is safe to take the logarithm of
+	 */
+	private static double nextOpenDouble(Random random)
+	{
+		return 1 - random.nextDouble ();
+	}
+	
+	
+	// ============================= Inner Types =============================
+	/**
+	 * Calculates the weight of an element, for weighted sampling
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	public interface Weigher<T>
+	{
+		/**
+		 * @param element Element to weigh
+		 * 
+		 * @return Weight of the element, not negative
+		 */
+		public double weigh(T element);
+	}
+	
+	
+	/**
+	 * Min-heap of the elements with the largest keys, for A-Res weighted sampling. Keys are stored
+	 * as log(u) / weight, which has the same order as u^(1 / weight) but doesn't underflow for
+	 * small weights
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	private static class WeightedReservoir<T>
+	{
+		/** Maximum number of elements */
+		private final int	capacity;
+		private double[]	keys;
+		private Object[]	elements;
+		private int			size;
+		
+		
+		/**
+		 * @param capacity Maximum number of elements. The heap starts small and grows up to it
+		 */
+		private WeightedReservoir (int capacity)
+		{
+			this.capacity = capacity;
+			
+			keys = new double[Math.min (capacity, 16)];
+			elements = new Object[keys.length];
+		}
+		
+		
+		private void offer(T element, double weight, Random random)
+		{
+			if ( !(weight >= 0) || Double.isInfinite (weight))
+				throw new IllegalArgumentException ("Weight is not a finite, non-negative number. "
+						+ "Weight: " + weight);
+			else if (weight == 0 || capacity == 0)
+				return;
+			
+			double key = Math.log (nextOpenDouble (random)) / weight;
+			
+			if (size < capacity) {
+				if (size == keys.length) {
+					int newLength = (int) Math.min (2L * size, capacity);
+					keys = Arrays.copyOf (keys, newLength);
+					elements = Arrays.copyOf (elements, newLength);
+				}
+				
+				// Sift up
+				int i = size++;
+				while (i > 0) {
+					int parent = (i - 1) >>> 1;
+					if (keys[parent] <= key) {
+						break;
+					}
+					keys[i] = keys[parent];
+					elements[i] = elements[parent];
+					i = parent;
+				}
+				keys[i] = key;
+				elements[i] = element;
+			} else if (key > keys[0]) {
+				siftDown (key, element, size);
+			}
+		}
+		
+		
+		/**
+		 * Replaces the root and sifts it down within the first size values
+		 */
+		private void siftDown(double key, Object element, int size)
+		{
+			int i = 0;
+			while (true) {
+				int child = 2 * i + 1;
+				if (child >= size) {
+					break;
+				}
+				if (child + 1 < size && keys[child + 1] < keys[child]) {
+					child++;
+				}
+				if (keys[child] >= key) {
+					break;
+				}
+				keys[i] = keys[child];
+				elements[i] = elements[child];
+				i = child;
+			}
+			keys[i] = key;
+			elements[i] = element;
+		}
+		
+		
+		/**
+		 * Empties the heap
+		 * 
+		 * @return Elements, in order of decreasing key
+		 */
+		@ SuppressWarnings ("unchecked")
+		private List<T> toList()
+		{
+			Object[] sorted = new Object[size];
+			
+			for (int last = size - 1; last >= 0; last--) {
+				sorted[last] = elements[0];
+				siftDown (keys[last], elements[last], last);
+			}
+			size = 0;
+			
+			ArrayList<T> list = new ArrayList<> (sorted.length);
+			for (Object element : sorted) {
+				list.add ((T) element);
+			}
+			
+			return list;
+		}
 	}
 }
\ No newline at end of file
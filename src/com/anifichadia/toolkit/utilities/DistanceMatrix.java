@@ -0,0 +1,322 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.utilities;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Calculates and stores the distances between all pairs of points in a point set. <br />
+ * <br />
+ * Points are stored in a flat, row-major array, where point i occupies indexes [i * dimensions,
+ * (i + 1) * dimensions). The matrix is calculated in square tiles of {@link #TILE_SIZE} points,
+ * so the points of a tile stay in cache while the tile is calculated, and the tiles are
+ * calculated in parallel using the shared fork-join pool (refer to {@link ParallelUtils}). As
+ * distances are symmetric, each pair is only calculated once. <br />
+ * <br />
+ * Optionally, only the upper triangle (excluding the diagonal) is stored, which halves memory.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class DistanceMatrix
+{
+	// ============================= Attributes ==============================
+	/** Number of points per side of a tile */
+	public static final int		TILE_SIZE	= 64;
+	
+	/** Number of points */
+	protected final int			numPoints;
+	/** Boolean representing if only the upper triangle is stored */
+	protected final boolean		upperTriangleOnly;
+	/** Distances. Either a full numPoints * numPoints matrix or the packed upper triangle */
+	protected final double[]	distances;
+	
+	
+	// ============================ Constructors =============================
+	protected DistanceMatrix (int numPoints, boolean upperTriangleOnly)
+	{
+		this.numPoints = numPoints;
+		this.upperTriangleOnly = upperTriangleOnly;
+		
+		long size = upperTriangleOnly ? (long) numPoints * (numPoints - 1) / 2 : (long) numPoints
+				* numPoints;
+		if (size > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException ("Too many points for a distance matrix. Points: "
+					+ numPoints);
+		
+		distances = new double[(int) size];
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Calculates the distance matrix for a set of points
+	 * 
+	 * @param points Points in row-major order
+	 * @param dimensions Number of dimensions of each point
+	 * @param metric Distance metric
+	 * @param order Order of the Minkowski distance. Ignored for other metrics
+	 * @param upperTriangleOnly Boolean representing if only the upper triangle should be stored
+	 * 
+	 * @return Distance matrix
+	 */
+	public static DistanceMatrix calculate(double[] points, int dimensions, Metric metric,
+			double order, boolean upperTriangleOnly)
+	{
+		if (dimensions < 1)
+			throw new IllegalArgumentException ("Number of dimensions is less than 1");
+		else if (points.length % dimensions != 0)
+			throw new IllegalArgumentException (
+					"Length of points is not a multiple of the number of dimensions");
+		else if (metric == Metric.MINKOWSKI && !(order >= 1))
+			throw new IllegalArgumentException ("Order is less than 1. Order: " + order);
+		
+		// Use the faster kernels where possible
+		if (metric == Metric.MINKOWSKI && order == 2) {
+			metric = Metric.EUCLIDEAN;
+		} else if (metric == Metric.MINKOWSKI && order == 1) {
+			metric = Metric.MANHATTAN;
+		}
+		
+		int numPoints = points.length / dimensions;
+		DistanceMatrix matrix = new DistanceMatrix (numPoints, upperTriangleOnly);
+		
+		int numTiles = (numPoints + TILE_SIZE - 1) / TILE_SIZE;
+		if (numTiles > 0) {
+			ParallelUtils.getPool ().invoke (
+					new TileTask (matrix, points, dimensions, metric, order, 0, numTiles));
+		}
+		
+		return matrix;
+	}
+	
+	
+	/**
+	 * Refer to {@link #calculate(double[], int, Metric, double, boolean)}. Minkowski distances use
+	 * the number of dimensions as the order, the same as
+	 * {@link MathUtils#minkowskiDistance(double[], double[])}
+	 */
+	public static DistanceMatrix calculate(double[] points, int dimensions, Metric metric,
+			boolean upperTriangleOnly)
+	{
+		return calculate (points, dimensions, metric, dimensions, upperTriangleOnly);
+	}
+	
+	
+	/**
+	 * Gets the distance between two points
+	 * 
+	 * @param i Index of the first point
+	 * @param j Index of the second point
+	 * 
+	 * @return Distance between the points
+	 */
+	public double get(int i, int j)
+	{
+		if (i < 0 || i >= numPoints || j < 0 || j >= numPoints)
+			throw new IndexOutOfBoundsException ("i: " + i + ", j: " + j + ", Size: " + numPoints);
+		
+		if ( !upperTriangleOnly)
+			return distances[i * numPoints + j];
+		else if (i == j)
+			return 0;
+		else if (i < j)
+			return distances[packedIndex (i, j)];
+		else
+			return distances[packedIndex (j, i)];
+	}
+	
+	
+	/**
+	 * Calculates the index of a pair in the packed upper triangle
+	 * 
+	 * @param i Index of the first point. Must be less than j
+	 * @param j Index of the second point
+	 * 
+	 * @return Index in the packed upper triangle
+	 */
+	protected int packedIndex(int i, int j)
+	{
+		return (int) ((long) i * (2L * numPoints - i - 1) / 2) + (j - i - 1);
+	}
+	
+	
+	/**
+	 * Calculates the distances between all pairs of points in a tile
+	 * 
+	 * @param points Points in row-major order
+	 * @param dimensions Number of dimensions of each point
+	 * @param metric Distance metric
+	 * @param order Order of the Minkowski distance
+	 * @param rowTile Row of the tile
+	 * @param columnTile Column of the tile. Must not be less than rowTile
+	 */
+	protected void calculateTile(double[] points, int dimensions, Metric metric, double order,
+			int rowTile, int columnTile)
+	{
+		int rowFrom = rowTile * TILE_SIZE;
+		int rowTo = Math.min (rowFrom + TILE_SIZE, numPoints);
+		int columnTo = Math.min ((columnTile + 1) * TILE_SIZE, numPoints);
+		
+		for (int i = rowFrom; i < rowTo; i++) {
+			int offsetI = i * dimensions;
+			// Only calculate the upper triangle of diagonal tiles
+			int columnFrom = (rowTile == columnTile) ? i + 1 : columnTile * TILE_SIZE;
+			int packedRow = upperTriangleOnly ? packedIndex (i, i + 1) - (i + 1) : 0;
+			
+			for (int j = columnFrom; j < columnTo; j++) {
+				int offsetJ = j * dimensions;
+				double distance;
+				
+				switch (metric) {
+					case EUCLIDEAN: {
+						double sum = 0;
+						for (int d = 0; d < dimensions; d++) {
+							double diff = points[offsetJ + d] - points[offsetI + d];
+							sum += diff * diff;
+						}
+						distance = Math.sqrt (sum);
+						break;
+					}
+					case MANHATTAN: {
+						double sum = 0;
+						for (int d = 0; d < dimensions; d++) {
+							sum += Math.abs (points[offsetJ + d] - points[offsetI + d]);
+						}
+						distance = sum;
+						break;
+					}
+					default: {
+						double sum = 0;
+						for (int d = 0; d < dimensions; d++) {
+							sum += Math.pow (Math.abs (points[offsetJ + d] - points[offsetI + d]),
+									order);
+						}
+						distance = Math.pow (sum, 1.0 / order);
+						break;
+					}
+				}
+				
+				if (upperTriangleOnly) {
+					distances[packedRow + j] = distance;
+				} else {
+					distances[i * numPoints + j] = distance;
+					distances[j * numPoints + i] = distance;
+				}
+			}
+		}
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	public int getNumPoints()
+	{
+		return numPoints;
+	}
+	
+	
+	public boolean isUpperTriangleOnly()
+	{
+		return upperTriangleOnly;
+	}
+	
+	
+	/**
+	 * Gets the raw distances. If only the upper triangle is stored, the distance for the pair (i,
+	 * j) where i &lt; j is at index (i * (2 * numPoints - i - 1) / 2) + (j - i - 1). Otherwise the
+	 * matrix is stored in row-major order. Note: the returned array is not copied
+	 * 
+	 * @return Raw distances
+	 */
+	public double[] getDistances()
+	{
+		return distances;
+	}
+	
+	
+	// ============================= Inner Types =============================
+	/**
+	 * Distance metric used for a {@link DistanceMatrix}
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	public enum Metric
+	{
+		/** Euclidean distance (Minkowski distance of order 2) */
+		EUCLIDEAN,
+		/** Manhattan distance (Minkowski distance of order 1) */
+		MANHATTAN,
+		/** Minkowski distance of any order */
+		MINKOWSKI;
+	}
+	
+	
+	/**
+	 * Calculates a range of tile rows, splitting the range in half until there is a single row
+	 * 
+	 * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+	 *         (http://github.com/AniFichadia)
+	 */
+	protected static class TileTask extends RecursiveAction
+	{
+		private static final long		serialVersionUID	= 1L;
+		
+		private final DistanceMatrix	matrix;
+		private final double[]			points;
+		private final int				dimensions;
+		private final Metric			metric;
+		private final double			order;
+		private final int				rowTileFrom;
+		private final int				rowTileTo;
+		
+		
+		public TileTask (DistanceMatrix matrix, double[] points, int dimensions, Metric metric,
+				double order, int rowTileFrom, int rowTileTo)
+		{
+			this.matrix = matrix;
+			this.points = points;
+			this.dimensions = dimensions;
+			this.metric = metric;
+			this.order = order;
+			this.rowTileFrom = rowTileFrom;
+			this.rowTileTo = rowTileTo;
+		}
+		
+		
+		@ Override
+		protected void compute()
+		{
+			if (rowTileTo - rowTileFrom > 1) {
+				int mid = (rowTileFrom + rowTileTo) >>> 1;
+				invokeAll (new TileTask (matrix, points, dimensions, metric, order, rowTileFrom,
+						mid), new TileTask (matrix, points, dimensions, metric, order, mid,
+						rowTileTo));
+				return;
+			}
+			
+			int numTiles = (matrix.numPoints + TILE_SIZE - 1) / TILE_SIZE;
+			for (int columnTile = rowTileFrom; columnTile < numTiles; columnTile++) {
+				matrix.calculateTile (points, dimensions, metric, order, rowTileFrom, columnTile);
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,365 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+
+package com.anifichadia.toolkit.utilities;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A growable list of double values, stored in a primitive array. Avoids the boxing and memory
+ * overhead of List&lt;Double&gt; for numeric code. <br />
+ * <br />
+ * Note: Not thread safe.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class DoubleList
+{
+	// ============================= Attributes ==============================
+	/** Backing array. Only the first {@link #size} values are valid */
+	protected double[]	values;
+	/** Number of values */
+	protected int		size;
+	
+	
+	// ============================ Constructors =============================
+	public DoubleList ()
+	{
+		this (16);
+	}
+	
+	
+	/**
+	 * @param initialCapacity Number of values that can be stored before the backing array grows
+	 */
+	public DoubleList (int initialCapacity)
+	{
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException ("Initial capacity is less than 0. Capacity: "
+					+ initialCapacity);
+		
+		values = new double[initialCapacity];
+	}
+	
+	
+	/**
+	 * Creates a list containing a copy of values
+	 * 
+	 * @param values Values to copy
+	 */
+	public DoubleList (double[] values)
+	{
+		this.values = values.clone ();
+		size = values.length;
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Adds a value to the end of the list
+	 * 
+	 * @param value Value to add
+	 */
+	public void add(double value)
+	{
+		if (size == values.length) {
+			grow (size + 1);
+		}
+		
+		values[size++] = value;
+	}
+	
+	
+	/**
+	 * Inserts a value, shifting the values at and after the index
+	 * 
+	 * @param index Index to insert at, in range [0, size]
+	 * @param value Value to insert
+	 */
+	public void add(int index, double value)
+	{
+		if (index < 0 || index > size)
+			throw new IndexOutOfBoundsException ("Index: " + index + ", Size: " + size);
+		
+		if (size == values.length) {
+			grow (size + 1);
+		}
+		
+		System.arraycopy (values, index, values, index + 1, size - index);
+		values[index] = value;
+		size++;
+	}
+	
+	
+	/**
+	 * Adds all values of an array to the end of the list
+	 * 
+	 * @param array Values to add
+	 */
+	public void addAll(double[] array)
+	{
+		addAll (array, 0, array.length);
+	}
+	
+	
+	/**
+	 * Adds a range of values of an array to the end of the list
+	 * 
+	 * @param array Values to add
+	 * @param from Start index, inclusive
+	 * @param to End index, exclusive
+	 */
+	public void addAll(double[] array, int from, int to)
+	{
+		if (from < 0 || to > array.length || from > to)
+			throw new IndexOutOfBoundsException ("From: " + from + ", To: " + to + ", Length: "
+					+ array.length);
+		
+		int count = to - from;
+		if (count > Integer.MAX_VALUE - size)
+			throw new IllegalStateException ("Maximum size exceeded. Size: " + size + ", Count: "
+					+ count);
+		
+		ensureCapacity (size + count);
+		
+		System.arraycopy (array, from, values, size, count);
+		size += count;
+	}
+	
+	
+	/**
+	 * Removes a value, shifting the values after the index
+	 * 
+	 * @param index Index of the value to remove
+	 * 
+	 * @return Removed value
+	 */
+	public double removeAt(int index)
+	{
+		checkIndex (index);
+		
+		double removed = values[index];
+		System.arraycopy (values, index + 1, values, index, size - index - 1);
+		size--;
+		
+		return removed;
+	}
+	
+	
+	/**
+	 * Removes all values at the indices set in a bit mask, in a single pass
+	 * 
+	 * @param excluded Indices to remove
+	 */
+	public void removeAll(BitSet excluded)
+	{
+		size = ArrayUtils.arrayCompact (values, size, excluded);
+	}
+	
+	
+	/**
+	 * Removes the last value
+	 * 
+	 * @return Removed value
+	 */
+	public double removeLast()
+	{
+		if (size == 0)
+			throw new IndexOutOfBoundsException ("List is empty");
+		
+		return values[ --size];
+	}
+	
+	
+	/**
+	 * Finds the first index of a value
+	 * 
+	 * @param value Value to find
+	 * 
+	 * @return Index of the value, or -1 if not found
+	 */
+	public int indexOf(double value)
+	{
+		for (int i = 0; i < size; i++) {
+			if (Double.doubleToLongBits (values[i]) == Double.doubleToLongBits (value))
+				return i;
+		}
+		
+		return -1;
+	}
+	
+	
+	public boolean contains(double value)
+	{
+		return indexOf (value) >= 0;
+	}
+	
+	
+	/** Sorts the values in ascending order */
+	public void sort()
+	{
+		Arrays.sort (values, 0, size);
+	}
+	
+	
+	/** Removes all values. The backing array is kept */
+	public void clear()
+	{
+		size = 0;
+	}
+	
+	
+	/**
+	 * Grows the backing array if necessary
+	 * 
+	 * @param capacity Number of values that must fit in the backing array
+	 */
+	public void ensureCapacity(int capacity)
+	{
+		if (capacity > values.length) {
+			grow (capacity);
+		}
+	}
+	
+	
+	/** Shrinks the backing array to the number of values */
+	public void trimToSize()
+	{
+		if (values.length != size) {
+			values = Arrays.copyOf (values, size);
+		}
+	}
+	
+	
+	private void grow(int minCapacity)
+	{
+		int newCapacity = Math.max (values.length + (values.length >> 1), 16);
+		values = Arrays.copyOf (values, Math.max (newCapacity, minCapacity));
+	}
+	
+	
+	private void checkIndex(int index)
+	{
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException ("Index: " + index + ", Size: " + size);
+	}
+	
+	
+	/**
+	 * Copies the values
+	 * 
+	 * @return Copy of the values
+	 */
+	public double[] toArray()
+	{
+		return Arrays.copyOf (values, size);
+	}
+	
+	
+	/**
+	 * Creates a view of a range of the list. Note: the view reads and writes the current backing
+	 * array, so it is no longer connected to the list once the list grows
+	 * 
+	 * @param from Start index, inclusive
+	 * @param to End index, exclusive
+	 * 
+	 * @return View of the range
+	 */
+	public DoubleSlice slice(int from, int to)
+	{
+		if (from < 0 || to > size || from > to)
+			throw new IndexOutOfBoundsException ("From: " + from + ", To: " + to + ", Size: "
+					+ size);
+		
+		return new DoubleSlice (values, from, to - from);
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	public double get(int index)
+	{
+		checkIndex (index);
+		
+		return values[index];
+	}
+	
+	
+	public void set(int index, double value)
+	{
+		checkIndex (index);
+		
+		values[index] = value;
+	}
+	
+	
+	public int size()
+	{
+		return size;
+	}
+	
+	
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+	
+	
+	/**
+	 * Gets the backing array. Only the first {@link #size()} values are valid. Note: the array is
+	 * replaced when the list grows
+	 * 
+	 * @return Backing array
+	 */
+	public double[] getValues()
+	{
+		return values;
+	}
+	
+	
+	// ======================== Overridden from Object =======================
+	@ Override
+	public int hashCode()
+	{
+		return slice (0, size).hashCode ();
+	}
+	
+	
+	@ Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+			return true;
+		else if ( !(obj instanceof DoubleList))
+			return false;
+		
+		DoubleList other = (DoubleList) obj;
+		return slice (0, size).equals (other.slice (0, other.size));
+	}
+	
+	
+	@ Override
+	public String toString()
+	{
+		return slice (0, size).toString ();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,250 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+
+package com.anifichadia.toolkit.utilities;
+
+import java.util.Arrays;
+
+/**
+ * A view of a range of a double array. Reads and writes go to the underlying array, nothing is
+ * copied. Slices are cheap to create, so they can be passed to numeric code instead of copying a
+ * range or converting it to a List&lt;Double&gt;.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class DoubleSlice
+{
+	// ============================= Attributes ==============================
+	/** Underlying array */
+	protected final double[]	array;
+	/** Index of the first value in the underlying array */
+	protected final int		offset;
+	/** Number of values */
+	protected final int		length;
+	
+	
+	// ============================ Constructors =============================
+	/**
+	 * @param array Underlying array
+	 * @param offset Index of the first value in the underlying array
+	 * @param length Number of values
+	 */
+	public DoubleSlice (double[] array, int offset, int length)
+	{
+		if (offset < 0 || length < 0 || offset > array.length - length)
+			throw new IndexOutOfBoundsException ("Offset: " + offset + ", Length: " + length
+					+ ", Array length: " + array.length);
+		
+		this.array = array;
+		this.offset = offset;
+		this.length = length;
+	}
+	
+	
+	/**
+	 * Creates a view of a whole array
+	 * 
+	 * @param array Underlying array
+	 */
+	public DoubleSlice (double[] array)
+	{
+		this (array, 0, array.length);
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Creates a view of a range of this slice
+	 * 
+	 * @param from Start index in this slice, inclusive
+	 * @param to End index in this slice, exclusive
+	 * 
+	 * @return View of the range
+	 */
+	public DoubleSlice slice(int from, int to)
+	{
+		if (from < 0 || to > length || from > to)
+			throw new IndexOutOfBoundsException ("From: " + from + ", To: " + to + ", Length: "
+					+ length);
+		
+		return new DoubleSlice (array, offset + from, to - from);
+	}
+	
+	
+	/**
+	 * Sets all values
+	 * 
+	 * @param value Value to set
+	 */
+	public void fill(double value)
+	{
+		Arrays.fill (array, offset, offset + length, value);
+	}
+	
+	
+	/**
+	 * Finds the first index of a value
+	 * 
+	 * @param value Value to find
+	 * 
+	 * @return Index of the value in this slice, or -1 if not found
+	 */
+	public int indexOf(double value)
+	{
+		for (int i = 0; i < length; i++) {
+			if (Double.doubleToLongBits (array[offset + i]) == Double.doubleToLongBits (value))
+				return i;
+		}
+		
+		return -1;
+	}
+	
+	
+	/** Sorts the values in ascending order */
+	public void sort()
+	{
+		Arrays.sort (array, offset, offset + length);
+	}
+	
+	
+	/**
+	 * Copies the values
+	 * 
+	 * @return Copy of the values
+	 */
+	public double[] toArray()
+	{
+		return Arrays.copyOfRange (array, offset, offset + length);
+	}
+	
+	
+	/**
+	 * Copies the values into an array
+	 * 
+	 * @param dest Array to copy to
+	 * @param destIndex Index in dest to copy to
+	 */
+	public void copyTo(double[] dest, int destIndex)
+	{
+		System.arraycopy (array, offset, dest, destIndex, length);
+	}
+	
+	
+	private void checkIndex(int index)
+	{
+		if (index < 0 || index >= length)
+			throw new IndexOutOfBoundsException ("Index: " + index + ", Length: " + length);
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	public double get(int index)
+	{
+		checkIndex (index);
+		
+		return array[offset + index];
+	}
+	
+	
+	public void set(int index, double value)
+	{
+		checkIndex (index);
+		
+		array[offset + index] = value;
+	}
+	
+	
+	public int size()
+	{
+		return length;
+	}
+	
+	
+	public double[] getArray()
+	{
+		return array;
+	}
+	
+	
+	public int getOffset()
+	{
+		return offset;
+	}
+	
+	
+	// ======================== Overridden from Object =======================
+	/**
+	 * Same as {@link Arrays#hashCode(double[])} of the values
+	 */
+	@ Override
+	public int hashCode()
+	{
+		int result = 1;
+		for (int i = offset; i < offset + length; i++) {
+			long bits = Double.doubleToLongBits (array[i]);
+			result = 31 * result + (int) (bits ^ (bits >>> 32));
+		}
+		
+		return result;
+	}
+	
+	
+	/**
+	 * Slices are equal if they have the same values, compared the same way as
+	 * {@link Arrays#equals(double[], double[])}
+	 */
+	@ Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+			return true;
+		else if ( !(obj instanceof DoubleSlice))
+			return false;
+		
+		DoubleSlice other = (DoubleSlice) obj;
+		if (length != other.length)
+			return false;
+		
+		for (int i = 0; i < length; i++) {
+			long bits = Double.doubleToLongBits (array[offset + i]);
+			if (bits != Double.doubleToLongBits (other.array[other.offset + i]))
+				return false;
+		}
+		
+		return true;
+	}
+	
+	
+	@ Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder ("[");
+		for (int i = 0; i < length; i++) {
+			if (i > 0) {
+				sb.append (", ");
+			}
+			sb.append (array[offset + i]);
+		}
+		
+		return sb.append (']').toString ();
+	}
+}
\ No newline at end of file
@@ -28,6 +28,29 @@ package com.anifichadia.toolkit.utilities;
  */
 public class EnumUtils
 {
+	// ============================= Attributes ==============================
+	/**
+	 * Stringified names of each enum class, in format [capitalizeFirstOnly ? 1 : 0][ordinal]. Refer
+	 * to {@link #stringifyEnumName(Enum, boolean)}
+	 */
+	private static final ClassValue<String[][]>	ENUM_NAMES	= new ClassValue<String[][]> () {
+		@ Override
+		protected String[][] computeValue(Class<?> type)
+		{
+			Object[] constants = type.getEnumConstants ();
+			String[][] names = new String[2][constants.length];
+			
+			for (int i = 0; i < constants.length; i++) {
+				String name = ((Enum<?>) constants[i]).name ();
+				names[0][i] = stringifyName (name, false);
+				names[1][i] = stringifyName (name, true);
+			}
+			
+			return names;
+		}
+	};
+	
+	
 	// =============================== Methods ===============================
 	/**
 	 * Converts an Enum's name value into sentence like strings. <br />
@@ -35,6 +58,9 @@ public class EnumUtils
 	 * Note: this only applies to enums that follow constant case (this is not checked) (eg.
 	 * CONSTANT_CASE)<br />
 	 * <br />
+	 * Names are converted once per enum class and cached, so repeated calls only read an array and
+	 * don't allocate. <br />
+	 * <br />
 	 * Example: <br />
 	 * <ul>
 	 * <li>CONSTANT_CASE -> Constant Case</li>
@@ -47,9 +73,28 @@ public class EnumUtils
 	 * @return The provided Enum's name value as a sentence like strings.
 	 */
 	public static String stringifyEnumName(Enum<?> e, boolean capitalizeFirstOnly)
+	{
+		return ENUM_NAMES.get (e.getDeclaringClass ())[capitalizeFirstOnly ? 1 : 0][e.ordinal ()];
+	}
+	
+	
+	/**
+	 * Refer to {@link #stringifyEnumName(Enum, boolean)}. Supplies the boolean parameter as false.
+	 */
+	public static String stringifyEnumName(Enum<?> e)
+	{
+		return stringifyEnumName (e, false);
+	}
+	
+	
+	/**
+	 * Converts a constant case name into a sentence like string. Refer to
+	 * {@link #stringifyEnumName(Enum, boolean)}
+	 */
+	private static String stringifyName(String name, boolean capitalizeFirstOnly)
 	{
 		// Split enum name based on the "_" character
-		String[] origNameSplit = e.name ().split ("_");
+		String[] origNameSplit = name.split ("_");
 		int len = origNameSplit.length;
 		
 		StringBuilder sb = new StringBuilder ();
@@ -57,7 +102,18 @@ public class EnumUtils
 		for (int i = 0; i < len; i++) {
 			String s = origNameSplit[i];
 			
-			if (capitalizeFirstOnly && i == 0 || !capitalizeFirstOnly) {
+			// Skip empty components from leading or consecutive "_" characters
+			if (s.isEmpty ()) {
+				continue;
+			}
+			
+			// Append space if necessary
+			boolean first = sb.length () == 0;
+			if ( !first) {
+				sb.append (" ");
+			}
+			
+			if (capitalizeFirstOnly && first || !capitalizeFirstOnly) {
 				// Handle capitalization of name components
 				
 				// Capitalize first character
@@ -69,22 +125,8 @@ public class EnumUtils
 			} else {// lower case all characters
 				sb.append (s.toLowerCase ());
 			}
-			
-			// Append space if necessary
-			if (i < len - 1) {
-				sb.append (" ");
-			}
 		}
 		
 		return sb.toString ();
 	}
-	
-	
-	/**
-	 * Refer to {@link #stringifyEnumName(Enum, boolean)}. Supplies the boolean parameter as false.
-	 */
-	public static String stringifyEnumName(Enum<?> e)
-	{
-		return stringifyEnumName (e, false);
-	}
 }
\ No newline at end of file
@@ -0,0 +1,528 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.utilities;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from int keys to int values. Keys and values are stored in primitive arrays, so there
+ * is no boxing and no per-entry object. Memory use is predictable: two int arrays whose length is
+ * the smallest power of 2 that holds the entries at the load factor (roughly 8 / loadFactor bytes
+ * per entry, compared to roughly 50-60 bytes for a HashMap&lt;Integer, Integer&gt; entry). <br />
+ * <br />
+ * Uses open addressing with linear probing. Keys are spread with Fibonacci hashing and removal
+ * shifts following entries back (no tombstones), so lookups never degrade after many removals.
+ * Key 0 marks empty slots, so it is stored separately. <br />
+ * <br />
+ * Missing keys are reported using a missing value (0 by default), refer to
+ * {@link #getMissingValue()}. <br />
+ * <br />
+ * Note: Not thread safe.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class IntIntMap
+{
+	// ============================= Attributes ==============================
+	/** Default maximum fraction of slots that are used before the table grows */
+	public static final float	DEFAULT_LOAD_FACTOR	= 0.75f;
+	/** Maximum number of slots */
+	static final int			MAX_CAPACITY		= 1 << 30;
+	
+	/** Key slots. 0 represents an empty slot */
+	protected int[]				keys;
+	/** Value slots */
+	protected int[]				values;
+	/** Number of entries, including the entry for key 0 */
+	protected int				size;
+	
+	/** Boolean representing if key 0 is in the map */
+	protected boolean			hasZeroKey;
+	/** Value of key 0 */
+	protected int				zeroValue;
+	
+	/** Maximum fraction of slots that are used before the table grows */
+	protected final float		loadFactor;
+	/** Value returned for missing keys */
+	protected final int			missingValue;
+	
+	/** Number of slots minus 1 */
+	private int					mask;
+	/** Shift applied to the hash to get a slot */
+	private int					shift;
+	/** Number of used slots at which the table grows */
+	private int					threshold;
+	
+	
+	// ============================ Constructors =============================
+	public IntIntMap ()
+	{
+		this (16);
+	}
+	
+	
+	/**
+	 * @param expectedSize Number of entries that can be stored before the table grows
+	 */
+	public IntIntMap (int expectedSize)
+	{
+		this (expectedSize, DEFAULT_LOAD_FACTOR, 0);
+	}
+	
+	
+	/**
+	 * @param expectedSize Number of entries that can be stored before the table grows
+	 * @param loadFactor Maximum fraction of slots that are used before the table grows, in range
+	 *            (0, 1)
+	 * @param missingValue Value returned for missing keys
+	 */
+	public IntIntMap (int expectedSize, float loadFactor, int missingValue)
+	{
+		if (expectedSize < 0)
+			throw new IllegalArgumentException ("Expected size is less than 0. Expected size: "
+					+ expectedSize);
+		else if ( !(loadFactor > 0 && loadFactor < 1))
+			throw new IllegalArgumentException ("Load factor is not in range (0, 1). Load factor: "
+					+ loadFactor);
+		
+		this.loadFactor = loadFactor;
+		this.missingValue = missingValue;
+		
+		allocate (tableSize (expectedSize, loadFactor));
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Gets the value of a key
+	 * 
+	 * @param key Key to look up
+	 * 
+	 * @return Value of the key, or the missing value if the key is not in the map
+	 */
+	public int get(int key)
+	{
+		return get (key, missingValue);
+	}
+	
+	
+	/**
+	 * Gets the value of a key
+	 * 
+	 * @param key Key to look up
+	 * @param defaultValue Value to return if the key is not in the map
+	 * 
+	 * @return Value of the key, or defaultValue if the key is not in the map
+	 */
+	public int get(int key, int defaultValue)
+	{
+		if (key == 0)
+			return hasZeroKey ? zeroValue : defaultValue;
+		
+		int slot = findSlot (key);
+		return keys[slot] == 0 ? defaultValue : values[slot];
+	}
+	
+	
+	public boolean containsKey(int key)
+	{
+		if (key == 0)
+			return hasZeroKey;
+		
+		return keys[findSlot (key)] != 0;
+	}
+	
+	
+	/**
+	 * Associates a value with a key, replacing any previous value
+	 * 
+	 * @param key Key
+	 * @param value Value
+	 * 
+	 * @return Previous value of the key, or the missing value if the key was not in the map
+	 */
+	public int put(int key, int value)
+	{
+		if (key == 0) {
+			int previous = hasZeroKey ? zeroValue : missingValue;
+			if ( !hasZeroKey) {
+				hasZeroKey = true;
+				size++;
+			}
+			zeroValue = value;
+			
+			return previous;
+		}
+		
+		int slot = findSlot (key);
+		if (keys[slot] != 0) {
+			int previous = values[slot];
+			values[slot] = value;
+			
+			return previous;
+		}
+		
+		insert (slot, key, value);
+		return missingValue;
+	}
+	
+	
+	/**
+	 * Adds to the value of a key. Missing keys start from 0, not from the missing value (refer to
+	 * {@link #getMissingValue()}), which is ignored. Useful for counting
+	 * 
+	 * @param key Key
+	 * @param delta Amount to add
+	 * 
+	 * @return New value of the key
+	 */
+	public int addTo(int key, int delta)
+	{
+		if (key == 0) {
+			if ( !hasZeroKey) {
+				hasZeroKey = true;
+				zeroValue = 0;
+				size++;
+			}
+			
+			return zeroValue += delta;
+		}
+		
+		int slot = findSlot (key);
+		if (keys[slot] != 0)
+			return values[slot] += delta;
+		
+		insert (slot, key, delta);
+		return delta;
+	}
+	
+	
+	/**
+	 * Removes a key
+	 * 
+	 * @param key Key to remove
+	 * 
+	 * @return Value of the key, or the missing value if the key was not in the map
+	 */
+	public int remove(int key)
+	{
+		if (key == 0) {
+			if ( !hasZeroKey)
+				return missingValue;
+			
+			hasZeroKey = false;
+			size--;
+			return zeroValue;
+		}
+		
+		int slot = findSlot (key);
+		if (keys[slot] == 0)
+			return missingValue;
+		
+		int previous = values[slot];
+		removeSlot (slot);
+		size--;
+		
+		return previous;
+	}
+	
+	
+	/** Removes all entries. The table keeps its capacity */
+	public void clear()
+	{
+		Arrays.fill (keys, 0);
+		hasZeroKey = false;
+		size = 0;
+	}
+	
+	
+	/**
+	 * Grows the table so that it can hold a number of entries without growing again
+	 * 
+	 * @param expectedSize Number of entries
+	 */
+	public void ensureCapacity(int expectedSize)
+	{
+		int capacity = tableSize (expectedSize, loadFactor);
+		if (capacity > keys.length) {
+			rehash (capacity);
+		}
+	}
+	
+	
+	/**
+	 * Copies the keys. The order matches {@link #values()}
+	 * 
+	 * @return Keys, in no particular order
+	 */
+	public int[] keys()
+	{
+		int[] result = new int[size];
+		int count = 0;
+		
+		if (hasZeroKey) {
+			count++;
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != 0) {
+				result[count++] = keys[i];
+			}
+		}
+		
+		return result;
+	}
+	
+	
+	/**
+	 * Copies the values. The order matches {@link #keys()}
+	 * 
+	 * @return Values, in no particular order
+	 */
+	public int[] values()
+	{
+		int[] result = new int[size];
+		int count = 0;
+		
+		if (hasZeroKey) {
+			result[count++] = zeroValue;
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != 0) {
+				result[count++] = values[i];
+			}
+		}
+		
+		return result;
+	}
+	
+	
+	/**
+	 * Finds the slot of a non-zero key, which is either the slot containing the key or the empty
+	 * slot ending its probe sequence
+	 */
+	private int findSlot(int key)
+	{
+		int slot = hash (key);
+		
+		int k;
+		while ((k = keys[slot]) != 0 && k != key) {
+			slot = (slot + 1) & mask;
+		}
+		
+		return slot;
+	}
+	
+	
+	private int hash(int key)
+	{
+		return (key * 0x9E3779B9) >>> shift;
+	}
+	
+	
+	/** Inserts a non-zero key into an empty slot, growing the table if necessary */
+	private void insert(int slot, int key, int value)
+	{
+		keys[slot] = key;
+		values[slot] = value;
+		
+		if ( ++size - (hasZeroKey ? 1 : 0) > threshold) {
+			rehash (keys.length << 1);
+		}
+	}
+	
+	
+	/**
+	 * Empties a slot, shifting back following entries of the probe sequence that would otherwise
+	 * no longer be found
+	 */
+	private void removeSlot(int slot)
+	{
+		int empty = slot;
+		int current = slot;
+		
+		while (true) {
+			current = (current + 1) & mask;
+			
+			int key = keys[current];
+			if (key == 0) {
+				break;
+			}
+			
+			// Move the entry if the empty slot lies between its ideal slot and its current slot
+			int ideal = hash (key);
+			if (((current - ideal) & mask) >= ((current - empty) & mask)) {
+				keys[empty] = key;
+				values[empty] = values[current];
+				empty = current;
+			}
+		}
+		
+		keys[empty] = 0;
+	}
+	
+	
+	private void rehash(int capacity)
+	{
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		
+		allocate (capacity);
+		
+		for (int i = 0; i < oldKeys.length; i++) {
+			int key = oldKeys[i];
+			
+			if (key != 0) {
+				int slot = hash (key);
+				while (keys[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				
+				keys[slot] = key;
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+	
+	
+	private void allocate(int capacity)
+	{
+		if (capacity <= 0 || capacity > MAX_CAPACITY)
+			throw new IllegalStateException ("Maximum capacity exceeded. Capacity: " + capacity);
+		
+		keys = new int[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+		shift = Integer.numberOfLeadingZeros (mask);
+		threshold = Math.min ((int) (capacity * loadFactor), capacity - 1);
+	}
+	
+	
+	/**
+	 * Calculates the number of slots needed for a number of entries
+	 * 
+	 * @return Smallest power of 2 that holds expectedSize entries at the load factor
+	 */
+	static int tableSize(int expectedSize, float loadFactor)
+	{
+		long needed = Math.max ((long) Math.ceil (expectedSize / (double) loadFactor), 4);
+		if (needed > MAX_CAPACITY)
+			throw new IllegalArgumentException ("Expected size is too large. Expected size: "
+					+ expectedSize);
+		
+		return Integer.highestOneBit ((int) needed - 1) << 1;
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	public int size()
+	{
+		return size;
+	}
+	
+	
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+	
+	
+	public float getLoadFactor()
+	{
+		return loadFactor;
+	}
+	
+	
+	/**
+	 * @return Value returned by {@link #get(int)}, {@link #put(int, int)} and {@link #remove(int)}
+	 *         for missing keys
+	 */
+	public int getMissingValue()
+	{
+		return missingValue;
+	}
+	
+	
+	// ======================== Overridden from Object =======================
+	/** Hash code in the same form as {@link java.util.Map#hashCode()} */
+	@ Override
+	public int hashCode()
+	{
+		int hash = hasZeroKey ? zeroValue : 0;
+		
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != 0) {
+				hash += keys[i] ^ values[i];
+			}
+		}
+		
+		return hash;
+	}
+	
+	
+	@ Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+			return true;
+		else if ( !(obj instanceof IntIntMap))
+			return false;
+		
+		IntIntMap other = (IntIntMap) obj;
+		if (size != other.size || hasZeroKey != other.hasZeroKey)
+			return false;
+		else if (hasZeroKey && zeroValue != other.zeroValue)
+			return false;
+		
+		for (int i = 0; i < keys.length; i++) {
+			int key = keys[i];
+			
+			if (key != 0) {
+				int slot = other.findSlot (key);
+				if (other.keys[slot] == 0 || other.values[slot] != values[i])
+					return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	
+	@ Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder ("{");
+		
+		if (hasZeroKey) {
+			builder.append ("0=").append (zeroValue);
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != 0) {
+				if (builder.length () > 1) {
+					builder.append (", ");
+				}
+				builder.append (keys[i]).append ('=').append (values[i]);
+			}
+		}
+		
+		return builder.append ('}').toString ();
+	}
+}
\ No newline at end of file
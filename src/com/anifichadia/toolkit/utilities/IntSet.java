@@ -0,0 +1,401 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.utilities;
+
+import java.util.Arrays;
+
+/**
+ * A hash set of int values. Values are stored in a primitive array, so there is no boxing and no
+ * per-entry object. Memory use is predictable: an int array whose length is the smallest power of
+ * 2 that holds the values at the load factor (roughly 4 / loadFactor bytes per value, compared to
+ * roughly 50 bytes for a HashSet&lt;Integer&gt; value). <br />
+ * <br />
+ * Uses open addressing with linear probing, in the same way as {@link IntIntMap}. Value 0 marks
+ * empty slots, so it is stored separately. <br />
+ * <br />
+ * Note: Not thread safe.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class IntSet
+{
+	// ============================= Attributes ==============================
+	/** Value slots. 0 represents an empty slot */
+	protected int[]			keys;
+	/** Number of values, including 0 */
+	protected int			size;
+	/** Boolean representing if 0 is in the set */
+	protected boolean		hasZeroKey;
+	
+	/** Maximum fraction of slots that are used before the table grows */
+	protected final float	loadFactor;
+	
+	/** Number of slots minus 1 */
+	private int				mask;
+	/** Shift applied to the hash to get a slot */
+	private int				shift;
+	/** Number of used slots at which the table grows */
+	private int				threshold;
+	
+	
+	// ============================ Constructors =============================
+	public IntSet ()
+	{
+		this (16);
+	}
+	
+	
+	/**
+	 * @param expectedSize Number of values that can be stored before the table grows
+	 */
+	public IntSet (int expectedSize)
+	{
+		this (expectedSize, IntIntMap.DEFAULT_LOAD_FACTOR);
+	}
+	
+	
+	/**
+	 * @param expectedSize Number of values that can be stored before the table grows
+	 * @param loadFactor Maximum fraction of slots that are used before the table grows, in range
+	 *            (0, 1)
+	 */
+	public IntSet (int expectedSize, float loadFactor)
+	{
+		if (expectedSize < 0)
+			throw new IllegalArgumentException ("Expected size is less than 0. Expected size: "
+					+ expectedSize);
+		else if ( !(loadFactor > 0 && loadFactor < 1))
+			throw new IllegalArgumentException ("Load factor is not in range (0, 1). Load factor: "
+					+ loadFactor);
+		
+		this.loadFactor = loadFactor;
+		
+		allocate (IntIntMap.tableSize (expectedSize, loadFactor));
+	}
+	
+	
+	/**
+	 * Creates a set containing the values of an array
+	 * 
+	 * @param values Values to add
+	 */
+	public IntSet (int[] values)
+	{
+		this (values.length);
+		
+		addAll (values);
+	}
+	
+	
+	// =============================== Methods ===============================
+	public boolean contains(int value)
+	{
+		if (value == 0)
+			return hasZeroKey;
+		
+		return keys[findSlot (value)] != 0;
+	}
+	
+	
+	/**
+	 * Adds a value
+	 * 
+	 * @param value Value to add
+	 * 
+	 * @return Boolean representing if the value was added (false if it was already in the set)
+	 */
+	public boolean add(int value)
+	{
+		if (value == 0) {
+			if (hasZeroKey)
+				return false;
+			
+			hasZeroKey = true;
+			size++;
+			return true;
+		}
+		
+		int slot = findSlot (value);
+		if (keys[slot] != 0)
+			return false;
+		
+		keys[slot] = value;
+		if ( ++size - (hasZeroKey ? 1 : 0) > threshold) {
+			rehash (keys.length << 1);
+		}
+		
+		return true;
+	}
+	
+	
+	/**
+	 * Adds all values of an array
+	 * 
+	 * @param values Values to add
+	 * 
+	 * @return Boolean representing if the set changed
+	 */
+	public boolean addAll(int[] values)
+	{
+		boolean changed = false;
+		
+		for (int value : values) {
+			changed |= add (value);
+		}
+		
+		return changed;
+	}
+	
+	
+	/**
+	 * Removes a value
+	 * 
+	 * @param value Value to remove
+	 * 
+	 * @return Boolean representing if the value was found and removed
+	 */
+	public boolean remove(int value)
+	{
+		if (value == 0) {
+			if ( !hasZeroKey)
+				return false;
+			
+			hasZeroKey = false;
+			size--;
+			return true;
+		}
+		
+		int slot = findSlot (value);
+		if (keys[slot] == 0)
+			return false;
+		
+		removeSlot (slot);
+		size--;
+		
+		return true;
+	}
+	
+	
+	/** Removes all values. The table keeps its capacity */
+	public void clear()
+	{
+		Arrays.fill (keys, 0);
+		hasZeroKey = false;
+		size = 0;
+	}
+	
+	
+	/**
+	 * Grows the table so that it can hold a number of values without growing again
+	 * 
+	 * @param expectedSize Number of values
+	 */
+	public void ensureCapacity(int expectedSize)
+	{
+		int capacity = IntIntMap.tableSize (expectedSize, loadFactor);
+		if (capacity > keys.length) {
+			rehash (capacity);
+		}
+	}
+	
+	
+	/**
+	 * Copies the values
+	 * 
+	 * @return Values, in no particular order
+	 */
+	public int[] toArray()
+	{
+		int[] result = new int[size];
+		int count = 0;
+		
+		if (hasZeroKey) {
+			count++;
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != 0) {
+				result[count++] = keys[i];
+			}
+		}
+		
+		return result;
+	}
+	
+	
+	/**
+	 * Finds the slot of a non-zero value, which is either the slot containing the value or the
+	 * empty slot ending its probe sequence
+	 */
+	private int findSlot(int value)
+	{
+		int slot = hash (value);
+		
+		int k;
+		while ((k = keys[slot]) != 0 && k != value) {
+			slot = (slot + 1) & mask;
+		}
+		
+		return slot;
+	}
+	
+	
+	private int hash(int value)
+	{
+		return (value * 0x9E3779B9) >>> shift;
+	}
+	
+	
+	/**
+	 * Empties a slot, shifting back following values of the probe sequence that would otherwise
+	 * no longer be found
+	 */
+	private void removeSlot(int slot)
+	{
+		int empty = slot;
+		int current = slot;
+		
+		while (true) {
+			current = (current + 1) & mask;
+			
+			int key = keys[current];
+			if (key == 0) {
+				break;
+			}
+			
+			// Move the value if the empty slot lies between its ideal slot and its current slot
+			int ideal = hash (key);
+			if (((current - ideal) & mask) >= ((current - empty) & mask)) {
+				keys[empty] = key;
+				empty = current;
+			}
+		}
+		
+		keys[empty] = 0;
+	}
+	
+	
+	private void rehash(int capacity)
+	{
+		int[] oldKeys = keys;
+		
+		allocate (capacity);
+		
+		for (int key : oldKeys) {
+			if (key != 0) {
+				int slot = hash (key);
+				while (keys[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				
+				keys[slot] = key;
+			}
+		}
+	}
+	
+	
+	private void allocate(int capacity)
+	{
+		if (capacity <= 0 || capacity > IntIntMap.MAX_CAPACITY)
+			throw new IllegalStateException ("Maximum capacity exceeded. Capacity: " + capacity);
+		
+		keys = new int[capacity];
+		mask = capacity - 1;
+		shift = Integer.numberOfLeadingZeros (mask);
+		threshold = Math.min ((int) (capacity * loadFactor), capacity - 1);
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	public int size()
+	{
+		return size;
+	}
+	
+	
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+	
+	
+	public float getLoadFactor()
+	{
+		return loadFactor;
+	}
+	
+	
+	// ======================== Overridden from Object =======================
+	/** Hash code in the same form as {@link java.util.Set#hashCode()} */
+	@ Override
+	public int hashCode()
+	{
+		int hash = 0;
+		
+		for (int key : keys) {
+			hash += key;
+		}
+		
+		return hash;
+	}
+	
+	
+	@ Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+			return true;
+		else if ( !(obj instanceof IntSet))
+			return false;
+		
+		IntSet other = (IntSet) obj;
+		if (size != other.size || hasZeroKey != other.hasZeroKey)
+			return false;
+		
+		for (int key : keys) {
+			if (key != 0 && !other.contains (key))
+				return false;
+		}
+		
+		return true;
+	}
+	
+	
+	@ Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder ("[");
+		
+		if (hasZeroKey) {
+			builder.append ('0');
+		}
+		for (int key : keys) {
+			if (key != 0) {
+				if (builder.length () > 1) {
+					builder.append (", ");
+				}
+				builder.append (key);
+			}
+		}
+		
+		return builder.append (']').toString ();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,248 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+
+package com.anifichadia.toolkit.utilities;
+
+import java.util.Arrays;
+
+/**
+ * A view of a range of an int array. Reads and writes go to the underlying array, nothing is
+ * copied. Slices are cheap to create, so they can be passed to numeric code instead of copying a
+ * range or converting it to a List&lt;Integer&gt;.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class IntSlice
+{
+	// ============================= Attributes ==============================
+	/** Underlying array */
+	protected final int[]	array;
+	/** Index of the first value in the underlying array */
+	protected final int		offset;
+	/** Number of values */
+	protected final int		length;
+	
+	
+	// ============================ Constructors =============================
+	/**
+	 * @param array Underlying array
+	 * @param offset Index of the first value in the underlying array
+	 * @param length Number of values
+	 */
+	public IntSlice (int[] array, int offset, int length)
+	{
+		if (offset < 0 || length < 0 || offset > array.length - length)
+			throw new IndexOutOfBoundsException ("Offset: " + offset + ", Length: " + length
+					+ ", Array length: " + array.length);
+		
+		this.array = array;
+		this.offset = offset;
+		this.length = length;
+	}
+	
+	
+	/**
+	 * Creates a view of a whole array
+	 * 
+	 * @param array Underlying array
+	 */
+	public IntSlice (int[] array)
+	{
+		this (array, 0, array.length);
+	}
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Creates a view of a range of this slice
+	 * 
+	 * @param from Start index in this slice, inclusive
+	 * @param to End index in this slice, exclusive
+	 * 
+	 * @return View of the range
+	 */
+	public IntSlice slice(int from, int to)
+	{
+		if (from < 0 || to > length || from > to)
+			throw new IndexOutOfBoundsException ("From: " + from + ", To: " + to + ", Length: "
+					+ length);
+		
+		return new IntSlice (array, offset + from, to - from);
+	}
+	
+	
+	/**
+	 * Sets all values
+	 * 
+	 * @param value Value to set
+	 */
+	public void fill(int value)
+	{
+		Arrays.fill (array, offset, offset + length, value);
+	}
+	
+	
+	/**
+	 * Finds the first index of a value
+	 * 
+	 * @param value Value to find
+	 * 
+	 * @return Index of the value in this slice, or -1 if not found
+	 */
+	public int indexOf(int value)
+	{
+		for (int i = 0; i < length; i++) {
+			if (array[offset + i] == value)
+				return i;
+		}
+		
+		return -1;
+	}
+	
+	
+	/** Sorts the values in ascending order */
+	public void sort()
+	{
+		Arrays.sort (array, offset, offset + length);
+	}
+	
+	
+	/**
+	 * Copies the values
+	 * 
+	 * @return Copy of the values
+	 */
+	public int[] toArray()
+	{
+		return Arrays.copyOfRange (array, offset, offset + length);
+	}
+	
+	
+	/**
+	 * Copies the values into an array
+	 * 
+	 * @param dest Array to copy to
+	 * @param destIndex Index in dest to copy to
+	 */
+	public void copyTo(int[] dest, int destIndex)
+	{
+		System.arraycopy (array, offset, dest, destIndex, length);
+	}
+	
+	
+	private void checkIndex(int index)
+	{
+		if (index < 0 || index >= length)
+			throw new IndexOutOfBoundsException ("Index: " + index + ", Length: " + length);
+	}
+	
+	
+	// ========================== Getters & Setters ==========================
+	public int get(int index)
+	{
+		checkIndex (index);
+		
+		return array[offset + index];
+	}
+	
+	
+	public void set(int index, int value)
+	{
+		checkIndex (index);
+		
+		array[offset + index] = value;
+	}
+	
+	
+	public int size()
+	{
+		return length;
+	}
+	
+	
+	public int[] getArray()
+	{
+		return array;
+	}
+	
+	
+	public int getOffset()
+	{
+		return offset;
+	}
+	
+	
+	// ======================== Overridden from Object =======================
+	/**
+	 * Same as {@link Arrays#hashCode(int[])} of the values
+	 */
+	@ Override
+	public int hashCode()
+	{
+		int result = 1;
+		for (int i = offset; i < offset + length; i++) {
+			result = 31 * result + array[i];
+		}
+		
+		return result;
+	}
+	
+	
+	/**
+	 * Slices are equal if they have the same values, compared the same way as
+	 * {@link Arrays#equals(int[], int[])}
+	 */
+	@ Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+			return true;
+		else if ( !(obj instanceof IntSlice))
+			return false;
+		
+		IntSlice other = (IntSlice) obj;
+		if (length != other.length)
+			return false;
+		
+		for (int i = 0; i < length; i++) {
+			if (array[offset + i] != other.array[other.offset + i])
+				return false;
+		}
+		
+		return true;
+	}
+	
+	
+	@ Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder ("[");
+		for (int i = 0; i < length; i++) {
+			if (i > 0) {
+				sb.append (", ");
+			}
+			sb.append (array[offset + i]);
+		}
+		
+		return sb.append (']').toString ();
+	}
+}
\ No newline at end of file
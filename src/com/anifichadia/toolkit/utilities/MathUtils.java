@@ -42,16 +42,11 @@ public class MathUtils
 		
 		int len = values.length;
 		
+		// Branch free, so the JIT can vectorize the loop
 		for (int i = 1; i < len; i++) {
 			int val = values[i];
-			
-			if (val > max) {
-				max = val;
-			}
-			
-			if (val < min) {
-				min = val;
-			}
+			min = Math.min (min, val);
+			max = Math.max (max, val);
 		}
 		
 		return new int[] {min, max};
@@ -59,7 +54,10 @@ public class MathUtils
 	
 	
 	/**
-	 * Calculates the min and max values of an array
+	 * Calculates the min and max values of an array. <br />
+	 * <br />
+	 * Note: Uses {@link Math#min(double, double)} and {@link Math#max(double, double)}, so if any
+	 * value is NaN, both the min and max are NaN.
 	 * 
 	 * @param values Array to find the min and max from
 	 * 
@@ -72,22 +70,134 @@ public class MathUtils
 		
 		int len = values.length;
 		
+		// Branch free, so the JIT can vectorize the loop
 		for (int i = 1; i < len; i++) {
 			double val = values[i];
-			
-			if (val > max) {
-				max = val;
-			}
-			
-			if (val < min) {
-				min = val;
-			}
+			min = Math.min (min, val);
+			max = Math.max (max, val);
 		}
 		
 		return new double[] {min, max};
 	}
 	
 	
+	/**
+	 * Calculates the sum of an array. <br />
+	 * <br />
+	 * Note: Uses 4 independent partial sums, so the JIT can pipeline (or vectorize) the additions.
+	 * The result may differ from a sequential sum in the last bits.
+	 * 
+	 * @param values Array to sum
+	 * 
+	 * @return Sum of values
+	 */
+	public static double sum(double[] values)
+	{
+		int len = values.length;
+		int unrolledLen = len & ~3;
+		
+		double s0 = 0;
+		double s1 = 0;
+		double s2 = 0;
+		double s3 = 0;
+		
+		for (int i = 0; i < unrolledLen; i += 4) {
+			s0 += values[i];
+			s1 += values[i + 1];
+			s2 += values[i + 2];
+			s3 += values[i + 3];
+		}
+		
+		for (int i = unrolledLen; i < len; i++) {
+			s0 += values[i];
+		}
+		
+		return (s0 + s1) + (s2 + s3);
+	}
+	
+	
+	/**
+	 * Calculates the dot product of two arrays. Refer to {@link #sum(double[])} for notes on
+	 * accuracy.
+	 * 
+	 * @param a First array
+	 * @param b Second array
+	 * 
+	 * @return Dot product of a and b
+	 */
+	public static double dot(double[] a, double[] b)
+	{
+		if (a.length != b.length)
+			throw new IllegalArgumentException ("Array lengths are not equal");
+		
+		int len = a.length;
+		int unrolledLen = len & ~3;
+		
+		double s0 = 0;
+		double s1 = 0;
+		double s2 = 0;
+		double s3 = 0;
+		
+		for (int i = 0; i < unrolledLen; i += 4) {
+			s0 += a[i] * b[i];
+			s1 += a[i + 1] * b[i + 1];
+			s2 += a[i + 2] * b[i + 2];
+			s3 += a[i + 3] * b[i + 3];
+		}
+		
+		for (int i = unrolledLen; i < len; i++) {
+			s0 += a[i] * b[i];
+		}
+		
+		return (s0 + s1) + (s2 + s3);
+	}
+	
+	
+	/**
+	 * Calculates the squared Euclidean distance between two coordinates. Refer to
+	 * {@link #sum(double[])} for notes on accuracy.
+	 * 
+	 * Coordinates are represented as an array where the value for each dimension is in each index
+	 * 
+	 * @param coord1 First Coordinate
+	 * @param coord2 Second Coordinate
+	 * 
+	 * @return Squared Euclidean Distance between coord1 and coord2
+	 */
+	public static double squaredDistance(double[] coord1, double[] coord2)
+	{
+		if (coord1.length != coord2.length)
+			throw new IllegalArgumentException ("Number of dimensions is not equal");
+		
+		int len = coord1.length;
+		int unrolledLen = len & ~3;
+		
+		double s0 = 0;
+		double s1 = 0;
+		double s2 = 0;
+		double s3 = 0;
+		
+		for (int i = 0; i < unrolledLen; i += 4) {
+			double d0 = coord2[i] - coord1[i];
+			double d1 = coord2[i + 1] - coord1[i + 1];
+			double d2 = coord2[i + 2] - coord1[i + 2];
+			double d3 = coord2[i + 3] - coord1[i + 3];
+			
+			s0 += d0 * d0;
+			s1 += d1 * d1;
+			s2 += d2 * d2;
+			s3 += d3 * d3;
+		}
+		
+		for (int i = unrolledLen; i < len; i++) {
+			double d = coord2[i] - coord1[i];
+			s0 += d * d;
+		}
+		
+		return (s0 + s1) + (s2 + s3);
+	}
+	
+	
 	/**
 	 * Round double to 2- significant places
 	 * 
@@ -102,7 +212,8 @@ public class MathUtils
 	
 	
 	/**
-	 * Calculate the multiplicative mean of a set of values
+	 * Calculate the multiplicative mean of a set of values. Refer to
+	 * {@link #geometricMean(double[])}
 	 * 
 	 * @param values Array to find the multiplicative mean from
 	 * 
@@ -110,14 +221,41 @@ public class MathUtils
 	 */
 	public static double multiplicativeMean(double[] values)
 	{
-		int size = values.length;
-		double product = values[0];
+		return geometricMean (values);
+	}
+	
+	
+	/**
+	 * Calculate the geometric (multiplicative) mean of a set of values. Uses the mean of the
+	 * logarithms of the values, so unlike multiplying the values it doesn't overflow or underflow
+	 * for large arrays.
+	 * 
+	 * @param values Array of non-negative values to find the geometric mean from
+	 * 
+	 * @return Geometric mean of values. 0 if any value is 0, NaN if any value is negative
+	 */
+	public static double geometricMean(double[] values)
+	{
+		int len = values.length;
+		int unrolledLen = len & ~3;
 		
-		for (int i = 1; i < size; i++) {
-			product *= values[i];
+		double s0 = 0;
+		double s1 = 0;
+		double s2 = 0;
+		double s3 = 0;
+		
+		for (int i = 0; i < unrolledLen; i += 4) {
+			s0 += Math.log (values[i]);
+			s1 += Math.log (values[i + 1]);
+			s2 += Math.log (values[i + 2]);
+			s3 += Math.log (values[i + 3]);
+		}
+		
+		for (int i = unrolledLen; i < len; i++) {
+			s0 += Math.log (values[i]);
 		}
 		
-		return Math.pow (product, (1.0f / size));
+		return Math.exp (((s0 + s1) + (s2 + s3)) / len);
 	}
 	
 	
@@ -163,6 +301,61 @@ public class MathUtils
 	}
 	
 	
+	/**
+	 * Calculates the Euclidean distance between two 2-dimensional coordinates. Does not allocate
+	 * 
+	 * @param x1 First Coordinate x-value
+	 * @param y1 First Coordinate y-value
+	 * @param x2 Second Coordinate x-value
+	 * @param y2 Second Coordinate y-value
+	 * 
+	 * @return Euclidean Distance between the coordinates
+	 */
+	public static double euclideanDistance(double x1, double y1, double x2, double y2)
+	{
+		double xDiff = x2 - x1;
+		double yDiff = y2 - y1;
+		
+		return Math.sqrt (xDiff * xDiff + yDiff * yDiff);
+	}
+	
+	
+	/**
+	 * Calculates the squared Euclidean distance between two 2-dimensional coordinates. Avoids the
+	 * square root, so is preferable when only comparing distances. Does not allocate
+	 * 
+	 * @param x1 First Coordinate x-value
+	 * @param y1 First Coordinate y-value
+	 * @param x2 Second Coordinate x-value
+	 * @param y2 Second Coordinate y-value
+	 * 
+	 * @return Squared Euclidean Distance between the coordinates
+	 */
+	public static double squaredDistance(double x1, double y1, double x2, double y2)
+	{
+		double xDiff = x2 - x1;
+		double yDiff = y2 - y1;
+		
+		return xDiff * xDiff + yDiff * yDiff;
+	}
+	
+	
+	/**
+	 * Calculates the Manhattan (order 1) distance between two coordinates.
+	 * 
+	 * Coordinates are represented as an array where the value for each dimension is in each index
+	 * 
+	 * @param coord1 First Coordinate
+	 * @param coord2 Second Coordinate
+	 * 
+	 * @return Manhattan Distance between coord1 and coord2
+	 */
+	public static double manhattanDistance(double[] coord1, double[] coord2)
+	{
+		return distanceBase (coord1, coord2, 1);
+	}
+	
+	
 	/**
 	 * Calculates the Minkowski distance between two coordinates.
 	 * 
@@ -179,6 +372,25 @@ public class MathUtils
 	}
 	
 	
+	/**
+	 * Calculates the Euclidean distances between all pairs of points. Refer to
+	 * {@link DistanceMatrix#calculate(double[], int, DistanceMatrix.Metric, boolean)}
+	 * 
+	 * @param points Points in row-major order. Point i occupies indexes [i * dimensions, (i + 1) *
+	 *            dimensions)
+	 * @param dimensions Number of dimensions of each point
+	 * @param upperTriangleOnly Boolean representing if only the upper triangle should be stored
+	 * 
+	 * @return Distance matrix
+	 */
+	public static DistanceMatrix distanceMatrix(double[] points, int dimensions,
+			boolean upperTriangleOnly)
+	{
+		return DistanceMatrix.calculate (points, dimensions, DistanceMatrix.Metric.EUCLIDEAN,
+				upperTriangleOnly);
+	}
+	
+	
 	/**
 	 * Calculates the distance between two coordinates. Is used as a base function for
 	 * euclideanDistance(double[], double[]) and minkowskiDistance(double[], double[])
@@ -200,12 +412,22 @@ public class MathUtils
 		final int NUM_DIMENSIONS = coord1.length;
 		double distance = 0;
 		
+		if (order == 2) {// Avoid Math.pow for the common case
+			return Math.sqrt (squaredDistance (coord1, coord2));
+		} else if (order == 1) {
+			for (int d = 0; d < NUM_DIMENSIONS; d++) {
+				distance += Math.abs (coord2[d] - coord1[d]);
+			}
+			
+			return distance;
+		}
+		
 		for (int d = 0; d < NUM_DIMENSIONS; d++) {
 			double absDiff = Math.abs (coord2[d] - coord1[d]);
 			distance += Math.pow (absDiff, order);
 		}
 		
-		distance = Math.pow (distance, (1.0 / order));;
+		distance = Math.pow (distance, (1.0 / order));
 		
 		return distance;
 	}
@@ -227,8 +449,24 @@ public class MathUtils
 			throw new IllegalArgumentException (
 					"Number of dimensions is not valid for the provided coordinates");
 		
-		double xDiff = coord2[0] - coord1[0];
-		double yDiff = coord2[1] - coord1[1];
+		return angle2DBetween (coord1[0], coord1[1], coord2[0], coord2[1]);
+	}
+	
+	
+	/**
+	 * Calculates the angle between two 2-dimensional coordinates in degrees. Does not allocate
+	 * 
+	 * @param x1 First Coordinate x-value
+	 * @param y1 First Coordinate y-value
+	 * @param x2 Second Coordinate x-value
+	 * @param y2 Second Coordinate y-value
+	 * 
+	 * @return Angle between the coordinates
+	 */
+	public static double angle2DBetween(double x1, double y1, double x2, double y2)
+	{
+		double xDiff = x2 - x1;
+		double yDiff = y2 - y1;
 		
 		double angle = Math.toDegrees (Math.atan2 (yDiff, xDiff)) - 180;
 		
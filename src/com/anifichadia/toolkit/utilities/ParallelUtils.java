@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2014 Aniruddh Fichadia
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * If you use or enhance the code, please let me know using the provided author information or via
+ * email Ani.Fichadia@gmail.com.
+ */
+
+package com.anifichadia.toolkit.utilities;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A collection of utility methods for parallel (fork-join) computations. Provides a single,
+ * lazily created {@link ForkJoinPool} that is shared by the parallel operations in the
+ * toolkit. <br />
+ * <br />
+ * Note: Java 7 has no common pool, so the toolkit keeps its own. Worker threads are daemon threads
+ * and do not prevent the JVM from exiting.
+ * 
+ * @author Aniruddh Fichadia | Email: Ani.Fichadia@gmail.com | GitHub Username: AniFichadia
+ *         (http://github.com/AniFichadia)
+ */
+public class ParallelUtils
+{
+	// ============================= Attributes ==============================
+	/** Shared pool, created on first use */
+	private static volatile ForkJoinPool	pool;
+	
+	
+	// =============================== Methods ===============================
+	/**
+	 * Gets the shared {@link ForkJoinPool}, creating it on first use. The pool's parallelism is the
+	 * number of available processors.
+	 * 
+	 * @return Shared fork-join pool
+	 */
+	public static ForkJoinPool getPool()
+	{
+		ForkJoinPool p = pool;
+		
+		if (p == null) {
+			synchronized (ParallelUtils.class) {
+				p = pool;
+				
+				if (p == null) {
+					p = new ForkJoinPool ();
+					pool = p;
+				}
+			}
+		}
+		
+		return p;
+	}
+	
+	
+	/**
+	 * Replaces the shared {@link ForkJoinPool}. The previous pool is not shut down.
+	 * 
+	 * @param newPool Pool to use for subsequent parallel operations
+	 */
+	public static void setPool(ForkJoinPool newPool)
+	{
+		if (newPool == null)
+			throw new IllegalArgumentException ("Pool cannot be null");
+		
+		pool = newPool;
+	}
+	
+	
+	/**
+	 * Gets the parallelism of the shared pool
+	 * 
+	 * @return Target number of worker threads
+	 */
+	public static int getParallelism()
+	{
+		return getPool ().getParallelism ();
+	}
+}
\ No newline at end of file